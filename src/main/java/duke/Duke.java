@@ -1,5 +1,9 @@
 package duke;
 
+import duke.dependencies.metrics.Metrics;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * <h1>Duke IP Project</h1>
  *
@@ -15,12 +19,21 @@ public class Duke {
      */
     public Duke() {
         duke = new Ui();
+        Metrics.registerMBean();
+    }
+
+    /**
+     * Saves any unsaved changes to the task list, without closing the application.
+     */
+    public void close() {
+        duke.close();
     }
 
     /**
-     * Closes the application.
+     * Closes the application. Unsaved changes to the task list are saved first.
      */
     public void exit() {
+        close();
         System.exit(0);
     }
 
@@ -32,6 +45,17 @@ public class Duke {
         return duke.takeInputAndReturn(input);
     }
 
+    /**
+     * Generates the response to user input without holding up the calling thread while a command is carried out on
+     * the task list, so that a front end stays responsive during a long command.
+     *
+     * @param input Input of the user.
+     * @return Future of the response, which never fails.
+     */
+    public CompletableFuture<String> getResponseAsync(String input) {
+        return duke.takeInputAsync(input);
+    }
+
 /* ------------------------------------------------------DEPRECATED-------------------------------------------------- */
 
 
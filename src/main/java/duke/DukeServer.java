@@ -0,0 +1,325 @@
+package duke;
+
+import duke.dependencies.parser.Controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Duke without a window: a service taking commands over TCP connections to this machine, one command on each line.
+ * Every connection is a conversation of its own, as with a window of its own, so it is greeted and asked for the
+ * password by itself. All conversations share the one task list.
+ *
+ * Each reply is sent as its lines, followed by a line with only a "." on it. A line of the reply that starts with a
+ * "." is sent with another "." in front, which the client takes away, so that no line of a reply ends it early.
+ * A conversation is sent a reply as soon as it connects, and is closed after it says goodbye, or when it has sent
+ * nothing for a while.
+ *
+ * Each conversation is served by a thread of its own, a virtual thread where Java has them, and takes one command
+ * at a time: the next line is only read once the reply to the last one is sent, so a client sending commands faster
+ * than they are carried out is held back by its own connection. At most a given number of conversations are served
+ * at once. Connections beyond that are not accepted until a conversation ends, and wait in the queue of the socket.
+ *
+ * Anyone able to connect may not be the user running Duke, so import commands may only import the files of a
+ * directory given when the server is started, and none if no directory is given.
+ */
+public class DukeServer {
+
+    /** Port listened on if none is given. */
+    public static final int DEFAULT_PORT = 5050;
+
+    /** Largest number of conversations served at once if no other is given. */
+    public static final int DEFAULT_MAX_CONNECTIONS = 64;
+
+    /** How long a conversation may send nothing before it is closed. */
+    static final int IDLE_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(15);
+
+    /** Number of connections that may wait to be accepted, beyond which they are refused. */
+    private static final int BACKLOG = 50;
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    private static final String WELCOME = "Pipboy here. Say hi, or type help to see what I can do.";
+
+    private final ServerSocket serverSocket;
+    private final int maxConnections;
+    private final int idleTimeoutMillis;
+    private final Supplier<Session> sessions;
+    private final ThreadFactory sessionThreads;
+    private final boolean isUsingVirtualThreads;
+
+    /** One permit for each conversation that may still be served. */
+    private final Semaphore permits;
+
+    /** Connections being served, closed when the server is. */
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    private final Thread acceptor;
+
+    private volatile boolean isClosed = false;
+
+    private DukeServer(ServerSocket serverSocket, int maxConnections, int idleTimeoutMillis,
+            Supplier<Session> sessions) {
+        this.serverSocket = serverSocket;
+        this.maxConnections = maxConnections;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.sessions = sessions;
+        ThreadFactory virtualThreads = virtualThreads();
+        isUsingVirtualThreads = virtualThreads != null;
+        sessionThreads = isUsingVirtualThreads ? virtualThreads : platformThreads();
+        permits = new Semaphore(maxConnections);
+        acceptor = new Thread(this::acceptConnections, "duke-acceptor");
+    }
+
+    /**
+     * Starts serving conversations with Duke on the given port of this machine. The port is only reachable from this
+     * machine, as anyone who can reach it can change the task list.
+     *
+     * @param port Port to listen on, or 0 for any free port.
+     * @param maxConnections Largest number of conversations served at once.
+     * @param importDirectory Directory whose files may be imported, or null if no file may be imported.
+     * @return The server, serving until it is closed.
+     * @throws IOException if the port cannot be listened on.
+     */
+    public static DukeServer start(int port, int maxConnections, Path importDirectory) throws IOException {
+        return start(port, maxConnections, IDLE_TIMEOUT_MILLIS, () -> conversationWithUi(importDirectory));
+    }
+
+    /**
+     * Starts serving the given kind of conversation on the given port of this machine.
+     *
+     * @param port Port to listen on, or 0 for any free port.
+     * @param maxConnections Largest number of conversations served at once.
+     * @param idleTimeoutMillis How long a conversation may send nothing before it is closed.
+     * @param sessions Gives a new conversation for each connection.
+     * @return The server, serving until it is closed.
+     * @throws IOException if the port cannot be listened on.
+     */
+    static DukeServer start(int port, int maxConnections, int idleTimeoutMillis, Supplier<Session> sessions)
+            throws IOException {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("At least one connection should be allowed: " + maxConnections);
+        }
+        ServerSocket serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        DukeServer server = new DukeServer(serverSocket, maxConnections, idleTimeoutMillis, sessions);
+        server.acceptor.start();
+        return server;
+    }
+
+    /**
+     * Returns the port listened on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns whether conversations are served by virtual threads, which Java has from version 21 on. Older versions
+     * serve them by a thread of the platform each.
+     */
+    public boolean isUsingVirtualThreads() {
+        return isUsingVirtualThreads;
+    }
+
+    /**
+     * Returns a factory of virtual threads, or null if this version of Java has none. Duke is built for Java 11, so
+     * they are looked up by name.
+     */
+    private static ThreadFactory virtualThreads() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "duke-session-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not there before Java 19, and a preview needing to be enabled before Java 21.
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, "duke-session-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void acceptConnections() {
+        while (!isClosed) {
+            try {
+                // Connections beyond the limit wait in the queue of the socket until a conversation ends.
+                permits.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                permits.release();
+                if (!isClosed) {
+                    e.printStackTrace();
+                }
+                continue;
+            }
+            connections.add(socket);
+            if (isClosed) {
+                // Accepted just as the server was closed, after the connections being served were closed.
+                endConnection(socket);
+                continue;
+            }
+            try {
+                sessionThreads.newThread(() -> serve(socket)).start();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                endConnection(socket);
+            }
+        }
+    }
+
+    /**
+     * Holds a conversation over the given connection until either side ends it.
+     */
+    private void serve(Socket socket) {
+        try {
+            socket.setSoTimeout(idleTimeoutMillis);
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            Session session = sessions.get();
+            send(out, WELCOME);
+            String line;
+            while (!session.isOver() && (line = in.readLine()) != null) {
+                send(out, replyTo(session, line));
+            }
+        } catch (SocketTimeoutException e) {
+            // Idle for too long; the connection is closed below.
+        } catch (IOException e) {
+            // The client went away, or the server is closing.
+        } finally {
+            endConnection(socket);
+        }
+    }
+
+    private static String replyTo(Session session, String input) {
+        try {
+            return session.reply(input);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return "Something went wrong while I was working on that: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Sends the given reply, in the form described in {@link DukeServer}.
+     */
+    static void send(Writer out, String reply) throws IOException {
+        for (String line : reply.split("\n", -1)) {
+            if (line.startsWith(".")) {
+                out.write('.');
+            }
+            out.write(line);
+            out.write('\n');
+        }
+        out.write(".\n");
+        out.flush();
+    }
+
+    private void endConnection(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (connections.remove(socket)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Stops taking connections, closes those being served, and waits for the commands being carried out for them to
+     * finish. The task list is left open, for the caller to close.
+     */
+    public void close() {
+        isClosed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        acceptor.interrupt();
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        try {
+            acceptor.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+            // Every conversation gives back its permit once its last command is carried out.
+            if (permits.tryAcquire(maxConnections, CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                permits.release(maxConnections);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns a conversation with Duke as the window has it, with its own greeting and password prompts, importing
+     * only the files of the given directory.
+     */
+    private static Session conversationWithUi(Path importDirectory) {
+        Ui ui = new Ui(Controller.initWithImportsFrom(importDirectory));
+        return new Session() {
+            private boolean isOver = false;
+
+            @Override
+            public String reply(String input) {
+                isOver = Ui.isEndCommand(input);
+                return ui.takeInputAndReturn(input);
+            }
+
+            @Override
+            public boolean isOver() {
+                return isOver;
+            }
+        };
+    }
+
+    /**
+     * One conversation, held over one connection.
+     */
+    interface Session {
+        /**
+         * Returns the reply to the given line of input.
+         */
+        String reply(String input);
+
+        /**
+         * Returns whether the conversation has ended, after which the connection is closed.
+         */
+        boolean isOver();
+    }
+}
@@ -0,0 +1,34 @@
+package duke;
+
+import duke.dependencies.executor.Executor;
+import duke.dependencies.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Launches Duke without a window, as a {@link DukeServer}. The port may be given as the only argument, and the
+ * largest number of conversations served at once as the system property {@code duke.server.maxConnections}.
+ * Import commands may only import the files of the directory given as {@code duke.server.importDirectory}, and none
+ * if it is not given. Duke serves until it is stopped, saving the task list before it exits.
+ */
+public class ServerLauncher {
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DukeServer.DEFAULT_PORT;
+        int maxConnections = Integer.getInteger("duke.server.maxConnections", DukeServer.DEFAULT_MAX_CONNECTIONS);
+        String importDirectory = System.getProperty("duke.server.importDirectory");
+
+        Metrics.registerMBean();
+        DukeServer server = DukeServer.start(port, maxConnections,
+                importDirectory == null ? null : Paths.get(importDirectory));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            Executor.initExecutor().close();
+            System.out.println("Duke processes finished.");
+        }));
+        System.out.println("Duke is listening on port " + server.getPort() + " of this machine"
+                + (server.isUsingVirtualThreads() ? ", with virtual threads." : "."));
+    }
+
+}
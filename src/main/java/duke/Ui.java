@@ -4,6 +4,8 @@ import duke.dependencies.longtext.HelpText;
 import duke.dependencies.longtext.StoryText;
 import duke.dependencies.parser.Controller;
 
+import java.util.concurrent.CompletableFuture;
+
 
 /**
  * Class that separates the command checker/parser from the main(). Catches command that
@@ -21,13 +23,28 @@ class Ui {
     private static final String END = "|end|ciao|bye|close|exit|nights|shutdown|";
     private static final String USER_GREETINGS = "|hi|hey|wassup|";
 
-    private static final Controller CONTROLLER = Controller.init();
+    /** Controller of this conversation, which keeps whether it is waiting for the password. */
+    private final Controller controller;
 
     private boolean enterPasswordMode = false;
     private boolean confirmPasswordMode = false;
     private boolean hasBeenGreeted = false;
     private String password;
 
+    /**
+     * Starts a conversation with the user of this machine.
+     */
+    Ui() {
+        this(Controller.init());
+    }
+
+    /**
+     * Starts a conversation whose commands are carried out by the given Controller.
+     */
+    Ui(Controller controller) {
+        this.controller = controller;
+    }
+
 
     /**
      * Receives command from user.
@@ -38,15 +55,45 @@ class Ui {
      * @return -1 indicating failure, 0 indicating end of program, 1 indicating program is running
      */
     public String takeInputAndReturn(String s) {
+        String reply = replyWithoutList(s);
+        return reply != null ? reply : controller.parseAndExec(s);
+    }
+
+    /**
+     * Receives command from user as {@link #takeInputAndReturn(String)} does, but carries out commands on the task
+     * list away from the calling thread. Replies that need no task list are given at once.
+     *
+     * @param s command given by user
+     * @return Future of the reply, which never fails.
+     */
+    public CompletableFuture<String> takeInputAsync(String s) {
+        String reply = replyWithoutList(s);
+        return reply != null ? CompletableFuture.completedFuture(reply) : controller.parseAndExecAsync(s);
+    }
+
+    /**
+     * Returns whether the given input ends the conversation.
+     *
+     * @param s command given by user
+     * @return True if the input is one of the words that end the conversation.
+     */
+    static boolean isEndCommand(String s) {
+        return !s.isEmpty() && END.contains("|" + s + "|");
+    }
+
+    /**
+     * Returns the reply to the given input if it is not a command on the task list, or null if it is.
+     */
+    private String replyWithoutList(String s) {
         // End command
-        if (!s.isEmpty() && END.contains("|" + s + "|")) {
+        if (isEndCommand(s)) {
             return "See yall around!!!";
         }
         // Checks if the second entering of the password matches the first entering.
         if (confirmPasswordMode) {
             // The second entering of password matches the first entering.
             if (password.equals(s)) {
-                CONTROLLER.saveUserDetails(password);
+                controller.saveUserDetails(password);
                 confirmPasswordMode = false;
                 enterPasswordMode = false;
                 return "Password saved successfully.";
@@ -63,7 +110,7 @@ class Ui {
             enterPasswordMode = false;
             return "Please enter your password again.";
         }
-        if (!CONTROLLER.hasUserEnteredDetails()) {
+        if (!controller.hasUserEnteredDetails()) {
             enterPasswordMode = true;
             return "You are somebody new! Please state your user password.";
         }
@@ -81,8 +128,13 @@ class Ui {
             return "Why are you greeting me again?";
         }
 
-        String reply = CONTROLLER.parseAndExec(s);
+        return null;
+    }
 
-        return reply;
+    /**
+     * Saves any unsaved changes to the task list. Called when Duke is closing.
+     */
+    public void close() {
+        controller.close();
     }
 }
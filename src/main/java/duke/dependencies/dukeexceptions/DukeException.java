@@ -13,6 +13,10 @@ package duke.dependencies.dukeexceptions;
  * respond with a error message to try to get the user to pass in a valid input that would not throw
  * DukeExceptions</p>
  *
+ * <p>DukeExceptions are expected in the normal running of Duke, so they do not capture a stack trace, which would
+ * cost far more than the rest of handling the mistake. Commands can also be checked without any exception through
+ * {@code Parser.parse}.</p>
+ *
  */
 public class DukeException extends Exception {
 
@@ -27,4 +31,14 @@ public class DukeException extends Exception {
     public DukeException(String message) {
         super(message);
     }
+
+    /**
+     * Does not capture a stack trace, as DukeExceptions are thrown for mistakes made by the user and not by Duke.
+     *
+     * @return This exception.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
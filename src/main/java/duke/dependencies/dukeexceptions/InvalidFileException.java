@@ -0,0 +1,18 @@
+package duke.dependencies.dukeexceptions;
+
+/**
+ * <p>This class extends DukeExceptions, and indicates that the user has named a file that cannot be read, such as the
+ * file of an import command.</p>
+ *
+ */
+public class InvalidFileException extends DukeException {
+    /**
+     * Constructs a new InvalidFileException with the specified detail message.
+     *
+     * @param   message   the detail message. The detail message is saved for
+     *          later retrieval by the {@link #getMessage()} method.
+     */
+    public InvalidFileException(String message) {
+        super(message);
+    }
+}
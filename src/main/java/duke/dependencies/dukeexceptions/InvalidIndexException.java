@@ -0,0 +1,18 @@
+package duke.dependencies.dukeexceptions;
+
+/**
+ * <p>This class extends DukeExceptions, and indicates that the user has referred to a task by an index that is not
+ * in the list, or has given the same index more than once.</p>
+ *
+ */
+public class InvalidIndexException extends DukeException {
+    /**
+     * Constructs a new InvalidIndexException with the specified detail message.
+     *
+     * @param   message   the detail message. The detail message is saved for
+     *          later retrieval by the {@link #getMessage()} method.
+     */
+    public InvalidIndexException(String message) {
+        super(message);
+    }
+}
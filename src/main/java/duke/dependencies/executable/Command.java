@@ -1,6 +1,8 @@
 package duke.dependencies.executable;
 
+import duke.dependencies.storage.TaskSelection;
 import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskDate;
 
 
 /**
@@ -15,11 +17,35 @@ public class Command implements Executable {
     private CommandType command;
     private Task task;
 
+    /** Task numbers of a done or delete command, null for other commands. */
+    private TaskSelection selection;
+
+    /** Page shown by a list command and its size, both 0 if the whole list is shown. */
+    private int page;
+    private int pageSize;
+    private boolean isShowingIds;
+
+    /** Dates of a between command, or the date of a due command as the last date. */
+    private TaskDate fromDate;
+    private TaskDate toDate;
+
+    /** Number of tasks shown by an upcoming command. */
+    private int count;
+
+    /** File of an import command, and whether the import is partial. */
+    private String fileName;
+    private boolean isPartial;
+
     private Command(CommandType command, Task task) {
         this.command = command;
         this.task = task;
     }
 
+    private Command(CommandType command, Task task, TaskSelection selection) {
+        this(command, task);
+        this.selection = selection;
+    }
+
     @Override
     /**
      * Returns the type of the command.
@@ -40,6 +66,51 @@ public class Command implements Executable {
         return this.task;
     }
 
+    @Override
+    public TaskSelection getSelection() {
+        return selection;
+    }
+
+    @Override
+    public int getPage() {
+        return page;
+    }
+
+    @Override
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public boolean isShowingIds() {
+        return isShowingIds;
+    }
+
+    @Override
+    public TaskDate getFromDate() {
+        return fromDate;
+    }
+
+    @Override
+    public TaskDate getToDate() {
+        return toDate;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public boolean isPartial() {
+        return isPartial;
+    }
+
 
     /* -------------------------------------- Static Factory Methods --------------------------------------------------*/
 
@@ -56,31 +127,49 @@ public class Command implements Executable {
     /**
      * Returns a Command of type DONE. This command encapsulates the instruction to complete a specific Task
      * object that the user wants to complete.
-     * @param task The Task object representing the task user wants to complete.
+     * @param task Misc. Task holding the task numbers as the user has given them.
+     * @param selection The task numbers parsed.
      * @return Command of type DONE.
      */
-    public static Command createDoneCommand(Task task) {
-        return new Command(CommandType.DONE, task);
+    public static Command createDoneCommand(Task task, TaskSelection selection) {
+        return new Command(CommandType.DONE, task, selection);
     }
 
     /**
      * Returns a Command of type LIST. This command encapsulates the instruction to list all task in the task list.
-     * @param task This does not affect the command in any way aas LIST commands do not inherently associate with any
-     *             task.
+     * @param task Null or an empty task.
      * @return Command of type LIST.
      */
     public static Command createListCommand(Task task) {
-        return new Command(CommandType.LIST, Task.createEmptyTask());
+        return new Command(CommandType.LIST, task == null ? Task.createEmptyTask() : task);
+    }
+
+    /**
+     * Returns a Command of type LIST. This command encapsulates the instruction to list all task in the task list,
+     * or one page of it, with the ids of the tasks if asked for.
+     * @param task Misc. Task holding the arguments as they are shown.
+     * @param page Page to list, counted from 1, or 0 to list the whole list.
+     * @param pageSize Number of tasks on a page, or 0 to list the whole list.
+     * @param isShowingIds Whether the ids of the tasks are shown.
+     * @return Command of type LIST.
+     */
+    public static Command createListCommand(Task task, int page, int pageSize, boolean isShowingIds) {
+        Command c = new Command(CommandType.LIST, task);
+        c.page = page;
+        c.pageSize = pageSize;
+        c.isShowingIds = isShowingIds;
+        return c;
     }
 
     /**
      * Returns a Command of type DELETE. This command encapsulates the instruction to remove a Task from the task
      * list by the index of the Task in the list.
-     * @param task The Task object that the user wants to delete.
+     * @param task Misc. Task holding the task numbers as the user has given them.
+     * @param selection The task numbers parsed.
      * @return Command of type DELETE.
      */
-    public static Command createDeleteCommand(Task task) {
-        return new Command(CommandType.DELETE, task);
+    public static Command createDeleteCommand(Task task, TaskSelection selection) {
+        return new Command(CommandType.DELETE, task, selection);
     }
 
     /**
@@ -94,6 +183,83 @@ public class Command implements Executable {
         return new Command(CommandType.FIND, keyword);
     }
 
+    /**
+     * Returns a Command of type STATS. This command encapsulates the instruction to show how many tasks of each type
+     * are in the task list, and how many of them are completed.
+     * @param task This does not affect the command in any way as STATS commands do not associate with any task.
+     * @return Command of type STATS.
+     */
+    public static Command createStatsCommand(Task task) {
+        return new Command(CommandType.STATS, Task.createEmptyTask());
+    }
+
+    /**
+     * Returns a Command of type DUE. This command encapsulates the instruction to show the tasks not yet completed
+     * that are dated before the date in the 'task', earliest first.
+     * @param date Task object, which holds the date the tasks should be before (This task object is a Misc. Task).
+     * @param before The date parsed.
+     * @return Command of type DUE.
+     */
+    public static Command createDueCommand(Task date, TaskDate before) {
+        Command c = new Command(CommandType.DUE, date);
+        c.toDate = before;
+        return c;
+    }
+
+    /**
+     * Returns a Command of type BETWEEN. This command encapsulates the instruction to show the tasks dated from one
+     * date to another, both included, earliest first.
+     * @param dates Task object, which holds the two dates separated by a space (This task object is a Misc. Task).
+     * @param from The first date parsed.
+     * @param to The last date parsed.
+     * @return Command of type BETWEEN.
+     */
+    public static Command createBetweenCommand(Task dates, TaskDate from, TaskDate to) {
+        Command c = new Command(CommandType.BETWEEN, dates);
+        c.fromDate = from;
+        c.toDate = to;
+        return c;
+    }
+
+    /**
+     * Returns a Command of type UPCOMING. This command encapsulates the instruction to show the next few tasks not
+     * yet completed that are dated today or later.
+     * @param task Task object, which holds the number of tasks to show (This task object is a Misc. Task).
+     * @param count The number of tasks to show.
+     * @return Command of type UPCOMING.
+     */
+    public static Command createUpcomingCommand(Task task, int count) {
+        Command c = new Command(CommandType.UPCOMING, task);
+        c.count = count;
+        return c;
+    }
+
+    /**
+     * Returns a Command of type IMPORT. This command encapsulates the instruction to add the tasks of every line of
+     * a file at once.
+     * @param file Task object, which holds "partial" or "all", whether the lines without mistakes are added when
+     *     some lines have mistakes, followed by a space and the path of the file (This task object is a Misc. Task).
+     * @param fileName Path of the file.
+     * @param isPartial Whether the lines without mistakes are added when some lines have mistakes.
+     * @return Command of type IMPORT.
+     */
+    public static Command createImportCommand(Task file, String fileName, boolean isPartial) {
+        Command c = new Command(CommandType.IMPORT, file);
+        c.fileName = fileName;
+        c.isPartial = isPartial;
+        return c;
+    }
+
+    /**
+     * Returns a Command of type METRICS. This command encapsulates the instruction to show how long the commands of
+     * each type took to be parsed, executed and saved.
+     * @param task This does not affect the command in any way as METRICS commands do not associate with any task.
+     * @return Command of type METRICS.
+     */
+    public static Command createMetricsCommand(Task task) {
+        return new Command(CommandType.METRICS, Task.createEmptyTask());
+    }
+
     public static Command createClearCacheCommand(Task task) {
         return new Command(CommandType.CLEAR, null);
     }
@@ -4,5 +4,5 @@ package duke.dependencies.executable;
  * For use to indicate the different performable commands Duke can execute.
  */
 public enum CommandType {
-    LIST, INVALID, DONE, DELETE, ADD, FIND, CLEAR, AUTHCHECK
+    LIST, INVALID, DONE, DELETE, ADD, FIND, CLEAR, AUTHCHECK, STATS, DUE, BETWEEN, UPCOMING, IMPORT, METRICS
 }
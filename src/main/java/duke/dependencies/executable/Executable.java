@@ -1,6 +1,8 @@
 package duke.dependencies.executable;
 
+import duke.dependencies.storage.TaskSelection;
 import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskDate;
 
 
 /**
@@ -22,4 +24,76 @@ public interface Executable {
      */
     Task getTask();
 
+    /**
+     * Returns the task numbers given to a done or delete command, as parsed by the Parser.
+     * @return TaskSelection of the command, null for other commands.
+     */
+    default TaskSelection getSelection() {
+        return null;
+    }
+
+    /**
+     * Returns the page shown by a list command, counted from 1.
+     * @return Page number, 0 if the whole list is shown or for other commands.
+     */
+    default int getPage() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of tasks on each page of a list command that shows a page.
+     * @return Page size, 0 if the whole list is shown or for other commands.
+     */
+    default int getPageSize() {
+        return 0;
+    }
+
+    /**
+     * Returns whether a list command shows the ids of the tasks.
+     * @return True if the ids are shown, false for other commands.
+     */
+    default boolean isShowingIds() {
+        return false;
+    }
+
+    /**
+     * Returns the first date of a between command.
+     * @return TaskDate the tasks are dated from, null for other commands.
+     */
+    default TaskDate getFromDate() {
+        return null;
+    }
+
+    /**
+     * Returns the last date of a between command, or the date a due command shows the tasks before.
+     * @return TaskDate, null for other commands.
+     */
+    default TaskDate getToDate() {
+        return null;
+    }
+
+    /**
+     * Returns the number of tasks shown by an upcoming command.
+     * @return Number of tasks, 0 for other commands.
+     */
+    default int getCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the file of an import command.
+     * @return Path of the file as the user has given it, null for other commands.
+     */
+    default String getFileName() {
+        return null;
+    }
+
+    /**
+     * Returns whether an import command adds the lines without mistakes when some lines have mistakes.
+     * @return True if the import is partial, false for other commands.
+     */
+    default boolean isPartial() {
+        return false;
+    }
+
 }
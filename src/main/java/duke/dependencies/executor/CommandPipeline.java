@@ -0,0 +1,138 @@
+package duke.dependencies.executor;
+
+import duke.dependencies.executable.CommandType;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs commands away from the thread that gives them, so that a front end stays responsive while a long command,
+ * such as an import or a change to a large list, is carried out.
+ *
+ * Commands that change the task list are queued for one writer thread, which carries them out one at a time in the
+ * order they were given. Commands that only read the list are carried out by a pool of readers, alongside each other
+ * and alongside the writer, as the task list can be read while it is being changed. A read waits for the changes
+ * given before it, so that a list shows the task added just before it, but not for the changes given after it.
+ *
+ * Both queues are bounded. Reads still waiting for a change count against the bound of the readers as much as those
+ * queued for them, so that reads given behind a long change cannot pile up without limit. A command given while its
+ * queue is full is not run, and its future fails with a {@link RejectedExecutionException}.
+ */
+public class CommandPipeline {
+
+    /** Largest number of commands waiting for the writer, or for the readers. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolExecutor readers;
+
+    /** One permit for each read that may be waiting for a change or a reader, or being carried out. */
+    private final Semaphore readPermits;
+
+    /** Completes once the last change given has been carried out, whether or not it succeeded. */
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+    /**
+     * Starts a pipeline with the given room for waiting commands and number of readers.
+     *
+     * @param capacity Largest number of commands waiting for the writer, and for the readers.
+     * @param readerCount Number of threads carrying out reads.
+     */
+    public CommandPipeline(int capacity, int readerCount) {
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacity), daemonThreads("duke-writer"));
+        readers = new ThreadPoolExecutor(readerCount, readerCount, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacity), daemonThreads("duke-reader"));
+        // Reads being carried out hold a permit too, so that those waiting never overflow the queue of the readers.
+        readPermits = new Semaphore(capacity + readerCount);
+    }
+
+    /**
+     * Starts a pipeline with the default room for waiting commands and a reader for each processor.
+     *
+     * @return The pipeline.
+     */
+    public static CommandPipeline init() {
+        return new CommandPipeline(DEFAULT_CAPACITY, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Returns whether a command of the given type only reads the task list.
+     */
+    public static boolean isReadOnly(CommandType type) {
+        switch (type) {
+        case LIST:
+        case FIND:
+        case STATS:
+        case DUE:
+        case BETWEEN:
+        case UPCOMING:
+        case METRICS:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Queues the given command, to be carried out by the writer if it changes the task list, or by a reader if it
+     * does not.
+     *
+     * @param type Type of the command.
+     * @param work Carries out the command, returning the reply to it.
+     * @return Future of the reply, which fails if the command throws or its queue is full.
+     */
+    public synchronized CompletableFuture<String> submit(CommandType type, Supplier<String> work) {
+        if (isReadOnly(type)) {
+            if (!readPermits.tryAcquire()) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Too many reads waiting"));
+            }
+            // The permit is given back before the reply completes, so a read given after it has the permit to use.
+            return lastWrite.thenApplyAsync(ignored -> work.get(), readers)
+                    .whenComplete((r, ex) -> readPermits.release());
+        }
+        CompletableFuture<String> reply;
+        try {
+            reply = CompletableFuture.supplyAsync(work, writer);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        lastWrite = reply.<Void>handle((r, ex) -> null);
+        return reply;
+    }
+
+    /**
+     * Stops taking commands, and waits for the commands already given to be carried out, so that no change is lost
+     * when the task list is closed after.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            // Reads waiting for the last change are only handed to the readers once it is carried out.
+            writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            readers.shutdown();
+            readers.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            readers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package duke.dependencies.executor;
+
+import duke.dependencies.dukeexceptions.DukeException;
+import duke.dependencies.executable.CommandType;
+import duke.dependencies.storage.ListedTasks;
+import duke.dependencies.storage.TaskStats;
+
+/**
+ * Result of executing a command: the tasks it showed or changed, how many, and the counts of the list it left, or
+ * the mistake that kept it from being carried out. Nothing is rendered until {@link #render()} is called, so callers
+ * without a screen, such as scripts and batch imports, can act on the counts alone.
+ *
+ * Like a {@link duke.dependencies.parser.ParseResult}, a mistake is returned instead of thrown.
+ */
+public final class CommandResult {
+
+    private final CommandType type;
+
+    /** Tasks shown or changed, or null if the command has none. */
+    private final ListedTasks tasks;
+
+    /** Counts of the list after the command, or null if it failed. */
+    private final TaskStats stats;
+
+    /** Number of tasks shown or changed. */
+    private final int count;
+
+    /** Text of a command that replies with text instead of tasks, or null. */
+    private final String message;
+
+    /** Mistake that kept the command from being carried out, or null if it was carried out. */
+    private final DukeException error;
+
+    private CommandResult(CommandType type, ListedTasks tasks, TaskStats stats, int count, String message,
+            DukeException error) {
+        this.type = type;
+        this.tasks = tasks;
+        this.stats = stats;
+        this.count = count;
+        this.message = message;
+        this.error = error;
+    }
+
+    /**
+     * Returns the result of a command that showed or changed the given tasks.
+     */
+    static CommandResult ofTasks(CommandType type, ListedTasks tasks) {
+        return new CommandResult(type, tasks, tasks.getStats(), tasks.size(), null, null);
+    }
+
+    /**
+     * Returns the result of a command that showed the counts of the list.
+     */
+    static CommandResult ofStats(TaskStats stats) {
+        return new CommandResult(CommandType.STATS, null, stats, 0, null, null);
+    }
+
+    /**
+     * Returns the result of a command that replies with text.
+     *
+     * @param type Type of the command.
+     * @param message Text of the reply.
+     * @param stats Counts of the list after the command.
+     * @param count Number of tasks changed by the command.
+     * @return Successful result.
+     */
+    static CommandResult ofMessage(CommandType type, String message, TaskStats stats, int count) {
+        return new CommandResult(type, null, stats, count, message, null);
+    }
+
+    /**
+     * Returns the result of a command that could not be carried out.
+     *
+     * @param type Type of the command.
+     * @param error The mistake, of the kind of DukeException the command fails with. DukeExceptions capture no stack
+     *     trace, so one is cheap to make even when it is never thrown.
+     * @return Failed result.
+     */
+    static CommandResult failure(CommandType type, DukeException error) {
+        return new CommandResult(type, null, null, 0, null, error);
+    }
+
+    public CommandType getType() {
+        return type;
+    }
+
+    /**
+     * Returns whether the command was carried out.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the message describing the mistake that kept the command from being carried out.
+     * @return Message, null if the command was carried out.
+     */
+    public String getError() {
+        return error == null ? null : error.getMessage();
+    }
+
+    /**
+     * Returns the mistake that kept the command from being carried out, such as an InvalidIndexException for a task
+     * not in the list, or an InvalidFileException for a file that cannot be read.
+     * @return The mistake, null if the command was carried out.
+     */
+    public DukeException getFailure() {
+        return error;
+    }
+
+    /**
+     * Throws the mistake that kept the command from being carried out.
+     *
+     * @throws DukeException the mistake, if there is one.
+     */
+    public void throwFailure() throws DukeException {
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Returns the tasks shown or changed by the command.
+     * @return The tasks, null if the command has none, such as a clear or a failed command.
+     */
+    public ListedTasks getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the number of tasks shown, added, completed or deleted by the command.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of tasks in the list after the command, or 0 if it failed.
+     */
+    public int getListSize() {
+        return stats == null ? 0 : stats.getTotal();
+    }
+
+    /**
+     * Returns the number of incomplete tasks in the list after the command, or 0 if it failed.
+     */
+    public int getNumOfIncomplete() {
+        return stats == null ? 0 : stats.getNumOfIncomplete();
+    }
+
+    /**
+     * Returns the counts of the list after the command.
+     * @return The counts, null if the command failed.
+     */
+    public TaskStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Renders the body of the reply to the command: the lines of its tasks, its counts, its text, or its mistake.
+     *
+     * @return The body, without a newline character at the end.
+     */
+    public String render() {
+        if (error != null) {
+            return error.getMessage();
+        }
+        if (tasks != null) {
+            return tasks.render(type == CommandType.LIST ? ListedTasks.NOTHING_LISTED : ListedTasks.NOTHING_MATCHED);
+        }
+        if (type == CommandType.STATS) {
+            return stats.toString();
+        }
+        return message;
+    }
+}
@@ -1,18 +1,18 @@
 package duke.dependencies.executor;
 
 
+import duke.dependencies.dukeexceptions.DukeException;
+import duke.dependencies.dukeexceptions.InvalidIndexException;
+import duke.dependencies.dukeexceptions.UnknownCommandException;
 import duke.dependencies.executable.CommandType;
 import duke.dependencies.executable.Executable;
+import duke.dependencies.metrics.CommandMetrics;
+import duke.dependencies.metrics.DukeEvent;
+import duke.dependencies.metrics.Metrics;
 import duke.dependencies.storage.TaskList;
 import duke.dependencies.task.Task;
 
-import static duke.dependencies.executable.CommandType.ADD;
-import static duke.dependencies.executable.CommandType.CLEAR;
-import static duke.dependencies.executable.CommandType.DELETE;
-import static duke.dependencies.executable.CommandType.DONE;
-import static duke.dependencies.executable.CommandType.FIND;
-import static duke.dependencies.executable.CommandType.INVALID;
-import static duke.dependencies.executable.CommandType.LIST;
+import java.util.stream.Stream;
 
 /**
  * Class that enables the logical manipulation of given Executable. Interprets the type of Command and
@@ -23,11 +23,6 @@ public class Executor {
 
     private static final TaskList TASK_LIST = TaskList.initStorage();
 
-    /* Half-assed attempt at concurrency lock.
-    There should be no need for concurrency
-    in this application. */
-    private CommandType commandState;
-
     /** Private constructor. */
     private Executor() {}
 
@@ -45,40 +40,51 @@ public class Executor {
      *
      * @param executable The command to be executed.
      * @return String specifying what happened/what was done (no newline character at end of reply).
+     * @throws DukeException for the mistake that kept the command from being carried out: an InvalidIndexException if
+     *     it refers to a task that is not in the list, or an InvalidFileException if it imports a file that cannot be
+     *     read.
      */
-    public String receiveAndExec(Executable executable) {
-        // TODO: Adding of new commands is to be done here.
-        switch(executable.getType()) {
-            case LIST:
-                setState(LIST);
-                break;
-
-            case ADD:
-                setState(ADD);
-                break;
-
-            case DELETE:
-                setState(DELETE);
-                break;
-
-            case DONE:
-                setState(DONE);
-                break;
-
-            case FIND:
-                setState(FIND);
-                break;
-
-            case CLEAR:
-                setState(CLEAR);
-                break;
-
-            default:
-                setState(INVALID);  // Should never reached this stage.
-                break;
+    public String receiveAndExec(Executable executable) throws DukeException {
+        CommandResult result = execute(executable);
+        if (!result.isSuccess()) {
+            result.throwFailure();
+        }
+        return result.render();
+    }
 
+    /**
+     * Executes the given command and returns what it did, leaving the reply to be rendered by the caller, if at all.
+     * Executors keep no state of their own, so reads may be carried out on several threads at once, alongside a
+     * thread changing the list. How long the command took is recorded in the {@link Metrics} of its type, and in a
+     * {@link DukeEvent.Execute} when Java Flight Recorder records it.
+     *
+     * @param executable The command to be executed.
+     * @return Result of the command, failed if it refers to a task that is not in the list, or names a file that
+     *     cannot be read.
+     */
+    public CommandResult execute(Executable executable) {
+        CommandMetrics metrics = Metrics.enter(executable.getType());
+        DukeEvent event = new DukeEvent.Execute();
+        long bytesBefore = Metrics.bytesMovedByThisThread();
+        event.begin();
+        long start = System.nanoTime();
+        int listSize = 0;
+        try {
+            CommandResult result = execAndReturn(executable);
+            if (!result.isSuccess()) {
+                metrics.recordError();
+            }
+            listSize = result.getListSize();
+            return result;
+        } catch (RuntimeException e) {
+            metrics.recordError();
+            listSize = TASK_LIST.getListSize();
+            throw e;
+        } finally {
+            metrics.recordExecute(System.nanoTime() - start);
+            event.end(executable.getType(), listSize, Metrics.bytesMovedByThisThread() - bytesBefore);
+            Metrics.exit();
         }
-        return execAndReturn(executable);
     }
 
     /**
@@ -105,55 +111,89 @@ public class Executor {
         return TASK_LIST.getListSize();
     }
 
+    /**
+     * Returns the lines of the whole task list, rendered only as the stream is consumed, for front ends that show a
+     * long list as it comes.
+     * @return Stream of the lines, one for each task.
+     */
+    public Stream<String> streamTodosInList() {
+        return TASK_LIST.streamTodosInList();
+    }
+
+    /**
+     * Saves any unsaved changes to the task list and releases its files. The task list is shared by all
+     * Executors, so this should only be called when Duke is closing.
+     */
+    public void close() {
+        TASK_LIST.close();
+    }
+
 
     /* -------------------------------------------------------------------------------------------------------------- */
 
 
-    // TODO: Ideally this class should not be returning strings. String should be returned in the Parser
-    private String execAndReturn(Executable e) {
+    private CommandResult execAndReturn(Executable e) {
+        try {
+            return execAndReturnOrThrow(e);
+        } catch (InvalidIndexException ex) {
+            return CommandResult.failure(e.getType(), ex);
+        }
+    }
+
+    private CommandResult execAndReturnOrThrow(Executable e) throws InvalidIndexException {
+        CommandType type = e.getType();
 
         // Block scoped the variable declaration in the cases.
-        switch(commandState) {
+        switch(type) {
             case LIST: {
-                return TASK_LIST.getTodosInList();
+                if (e.getPage() == 0) {
+                    return CommandResult.ofTasks(type, TASK_LIST.listTasks(e.isShowingIds()));
+                }
+                return CommandResult.ofTasks(type, TASK_LIST.listPage(e.getPage(), e.getPageSize(), e.isShowingIds()));
             }
             case DONE: {
                 /* C-MassOperations */
-                // Done command would have a task of "1 2 3 4"
-                String[] nums = e.getTask().showTaskDescription().split("[\\D]+");
-                Integer[] arr = new Integer[nums.length];
-                for (int i = 0; i < nums.length; i++) {
-                    arr[i] = Integer.valueOf(nums[i]);
-                }
-                return TASK_LIST.done(arr);
+                // Done command would carry the numbers "1 2 4-10 20-", already parsed by the Parser
+                return CommandResult.ofTasks(type, TASK_LIST.complete(e.getSelection()));
             }
             case DELETE: {
-                String[] nums = e.getTask().showTaskDescription().split("[\\D]+");
-                Integer[] arr = new Integer[nums.length];
-                for (int i = 0; i < nums.length; i++) {
-                    arr[i] = Integer.valueOf(nums[i]);
-                }
-                return TASK_LIST.deleteTask(arr);
+                return CommandResult.ofTasks(type, TASK_LIST.delete(e.getSelection()));
             }
             case FIND: {
                 String keyword = e.getTask().showTaskDescription();
-                return TASK_LIST.findMatching(keyword);
+                return CommandResult.ofTasks(type, TASK_LIST.find(keyword));
             }
             case ADD: {
                 Task t = e.getTask();
-                return TASK_LIST.add(t);
+                return CommandResult.ofTasks(type, TASK_LIST.addTask(t));
             }
             case CLEAR: {
-                return TASK_LIST.clearList();
+                String reply = TASK_LIST.clearList();
+                return CommandResult.ofMessage(type, reply, TASK_LIST.getStats(), 0);
+            }
+            case STATS: {
+                return CommandResult.ofStats(TASK_LIST.getStats());
+            }
+            case DUE: {
+                return CommandResult.ofTasks(type, TASK_LIST.dueBefore(e.getToDate()));
+            }
+            case BETWEEN: {
+                return CommandResult.ofTasks(type, TASK_LIST.between(e.getFromDate(), e.getToDate()));
+            }
+            case UPCOMING: {
+                return CommandResult.ofTasks(type, TASK_LIST.upcoming(e.getCount()));
+            }
+            case IMPORT: {
+                return TaskImport.importFile(TASK_LIST, e.getFileName(), e.isPartial());
+            }
+            case METRICS: {
+                return CommandResult.ofMessage(type, Metrics.report(), TASK_LIST.getStats(), 0);
             }
             default: {
-                return "Error";   // This should not happen.
+                // This should not happen.
+                return CommandResult.failure(type, new UnknownCommandException("Error: Not a command to execute"));
             }
         }
     }
 
-    private void setState(CommandType c) {
-        this.commandState = c;
-    }
-
 }
@@ -0,0 +1,122 @@
+package duke.dependencies.executor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import duke.dependencies.dukeexceptions.InvalidFileException;
+import duke.dependencies.executable.CommandType;
+import duke.dependencies.parser.ParseResult;
+import duke.dependencies.parser.Parser;
+import duke.dependencies.storage.TaskList;
+import duke.dependencies.task.Task;
+
+/**
+ * Import of a file of commands adding tasks, one "todo", "event" or "deadline" command on each line, as one change
+ * to the task list. The file is read a batch of lines at a time, and the lines of each batch are parsed in parallel.
+ * The tasks are added together and saved once. If any line has a mistake, nothing is added, unless the import is
+ * partial, in which case the lines without mistakes are still added. Blank lines are skipped.
+ */
+final class TaskImport {
+
+    /** Number of lines read and parsed at a time. */
+    private static final int BATCH_SIZE = 4096;
+
+    /** Largest number of mistakes listed in the reply. */
+    private static final int MAX_MISTAKES_SHOWN = 20;
+
+    private TaskImport() {}
+
+    /**
+     * Imports the tasks of the given file into the list.
+     *
+     * @param list List to add the tasks to.
+     * @param fileName Path of the file, relative to where Duke was started.
+     * @param isPartial Whether the lines without mistakes are added even if some lines have mistakes.
+     * @return Result counting the tasks added, with a reply saying how many, followed by the mistakes found, one
+     *     line each.
+     */
+    static CommandResult importFile(TaskList list, String fileName, boolean isPartial) {
+        List<Task> tasks = new ArrayList<>();
+        StringBuilder mistakes = new StringBuilder();
+        int mistakeCount = 0;
+        int lineNumber = 0;
+        String[] lines = new String[BATCH_SIZE];
+        ParseResult[] parsed = new ParseResult[BATCH_SIZE];
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+            while (true) {
+                int count = 0;
+                String line;
+                while (count < BATCH_SIZE && (line = reader.readLine()) != null) {
+                    lines[count++] = line;
+                }
+                if (count == 0) {
+                    break;
+                }
+                // Each line is parsed into its own slot, so the results keep the order of the lines.
+                IntStream.range(0, count).parallel()
+                        .forEach(i -> parsed[i] = lines[i].isBlank() ? null : Parser.parse(lines[i]));
+                for (int i = 0; i < count; i++) {
+                    lineNumber++;
+                    String mistake = mistakeIn(parsed[i]);
+                    if (mistake == null) {
+                        if (parsed[i] != null && (isPartial || mistakeCount == 0)) {
+                            tasks.add(parsed[i].getExecutable().getTask());
+                        }
+                        continue;
+                    }
+                    if (++mistakeCount <= MAX_MISTAKES_SHOWN) {
+                        mistakes.append("\nLine ").append(lineNumber).append(": ").append(mistake);
+                    }
+                    if (!isPartial) {
+                        // Nothing will be added, so the tasks need not be kept.
+                        tasks.clear();
+                    }
+                }
+            }
+        } catch (IOException | UncheckedIOException | InvalidPathException ex) {
+            return CommandResult.failure(CommandType.IMPORT,
+                    new InvalidFileException("Error: Nothing was imported, as " + fileName + " could not be read"));
+        }
+        if (mistakeCount > MAX_MISTAKES_SHOWN) {
+            mistakes.append("\n... and ").append(mistakeCount - MAX_MISTAKES_SHOWN).append(" more.");
+        }
+        if (mistakeCount > 0 && !isPartial) {
+            return imported(list, "Nothing was imported, as " + mistakeCount + " of " + lineNumber
+                    + " lines have mistakes:" + mistakes, 0);
+        }
+        int added = list.addAll(tasks);
+        String reply = "Imported " + added + " tasks from " + fileName + ".";
+        return imported(list,
+                mistakeCount == 0 ? reply : reply + " Skipped " + mistakeCount + " lines with mistakes:" + mistakes,
+                added);
+    }
+
+    private static CommandResult imported(TaskList list, String reply, int added) {
+        return CommandResult.ofMessage(CommandType.IMPORT, reply, list.getStats(), added);
+    }
+
+    /**
+     * Returns the mistake in a line, or null if it adds a task or is blank.
+     */
+    private static String mistakeIn(ParseResult parsed) {
+        if (parsed == null) {
+            return null;
+        }
+        if (!parsed.isSuccess()) {
+            return parsed.getMessage().replace("Error: ", "");
+        }
+        if (parsed.getExecutable().getType() != CommandType.ADD) {
+            return "Only todo, event and deadline commands can be imported";
+        }
+        return null;
+    }
+}
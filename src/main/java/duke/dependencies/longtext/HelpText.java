@@ -7,14 +7,31 @@ public class HelpText {
             " 'clear data': use this to trash your whole task list (Beware you need to authenticate yourself with the " +
             " password in order to successfully do this. I hope you have not forgotten your password.)\n" +
             DIVIDER +
+            " 'list': shows your tasks, or one page of them in the format - {list [page N] [size M] [ids]}\n" +
+            DIVIDER +
             " 'todo': adds a todo item in the format - {todo <taskname>}\n" +
             DIVIDER +
             " 'event': adds an event task in the format - {event <taskname> /at yyyy-mm-dd or MM/dd/yyyy}\n" +
             DIVIDER +
             " 'deadline': adds a deadline task in the format - {deadline <taskname> /by yyyy-mm-dd or MM/dd/yyyy}\n" +
             DIVIDER +
-            " 'done': completes specified task at index, format - {done 1 [2 3 ..... n]}\n" +
+            " 'done': completes specified task at index, format - {done 1 [2 3 ..... n]}, or a range - " +
+            "{done 1-5}, {done 6-}, {done all} or by id - {done #<id>}\n" +
+            DIVIDER +
+            " 'delete': removes specified task at index, format - {delete 1 [2 3 .... n]}, or a range - " +
+            "{delete 1-5}, {delete 6-}, {delete all} or by id - {delete #<id>}\n" +
+            DIVIDER +
+            " 'due before': shows the tasks left to do before a date, format - {due before <date>}\n" +
+            DIVIDER +
+            " 'between': shows the tasks from one date to another, format - {between <date> <date>}\n" +
+            DIVIDER +
+            " 'upcoming': shows the next tasks from today on, format - {upcoming [N]}\n" +
+            DIVIDER +
+            " 'import': adds the tasks of a file of todo, event and deadline lines all at once, none of them if a " +
+            "line has a mistake unless --partial is given, format - {import <file> [--partial]}\n" +
+            DIVIDER +
+            " 'stats': shows how many tasks of each type you have, and how many of them are completed\n" +
             DIVIDER +
-            " 'delete': removes specified task at index, format - {delete 1 [2 3 .... n]}\n" +
+            " 'metrics': shows how long the commands of each type took to be understood, carried out and saved\n" +
             DIVIDER;
 }
@@ -0,0 +1,135 @@
+package duke.dependencies.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measurements of the commands of one type: how long they took to be parsed, to be executed and to be saved, how
+ * many bytes saving them wrote, and how many of them went wrong. Execution includes saving, which is also measured
+ * on its own. Everything is recorded without locking.
+ */
+public final class CommandMetrics {
+
+    private final LatencyHistogram parse = new LatencyHistogram();
+    private final LatencyHistogram execute = new LatencyHistogram();
+    private final LatencyHistogram persist = new LatencyHistogram();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    CommandMetrics() {}
+
+    public void recordParse(long nanos) {
+        parse.record(nanos);
+    }
+
+    public void recordExecute(long nanos) {
+        execute.record(nanos);
+    }
+
+    public void recordPersist(long nanos) {
+        persist.record(nanos);
+    }
+
+    public void recordBytesWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Counts a command that went wrong: one with a mistake in it, one referring to a task not in the list, or one
+     * whose change could not be saved.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    public LatencyHistogram getParse() {
+        return parse;
+    }
+
+    public LatencyHistogram getExecute() {
+        return execute;
+    }
+
+    public LatencyHistogram getPersist() {
+        return persist;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Returns whether anything has been recorded.
+     */
+    boolean isUsed() {
+        return getErrors() > 0 || getBytesWritten() > 0 || parse.getCount() > 0 || execute.getCount() > 0
+                || persist.getCount() > 0;
+    }
+
+    /**
+     * Appends the measurements to the given report, under the given name.
+     */
+    void appendTo(StringBuilder sb, String name) {
+        sb.append(name).append(": ").append(Math.max(parse.getCount(), execute.getCount())).append(" commands, ")
+                .append(getErrors()).append(" errors, ").append(formatBytes(getBytesWritten())).append(" written");
+        appendLine(sb, "parse", parse);
+        appendLine(sb, "execute", execute);
+        appendLine(sb, "persist", persist);
+    }
+
+    private static void appendLine(StringBuilder sb, String name, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        sb.append("\n  ").append(name)
+                .append(" p50 ").append(formatNanos(histogram.getValueAtPercentile(50)))
+                .append(", p99 ").append(formatNanos(histogram.getValueAtPercentile(99)))
+                .append(", max ").append(formatNanos(histogram.getMax()));
+    }
+
+    /**
+     * Puts the measurements into the given map, each under the given prefix followed by its own name.
+     */
+    void putValues(Map<String, Long> values, String prefix) {
+        values.put(prefix + "errors", getErrors());
+        values.put(prefix + "bytesWritten", getBytesWritten());
+        putValues(values, prefix + "parse.", parse);
+        putValues(values, prefix + "execute.", execute);
+        putValues(values, prefix + "persist.", persist);
+    }
+
+    private static void putValues(Map<String, Long> values, String prefix, LatencyHistogram histogram) {
+        values.put(prefix + "count", histogram.getCount());
+        values.put(prefix + "meanNanos", histogram.getMean());
+        values.put(prefix + "p50Nanos", histogram.getValueAtPercentile(50));
+        values.put(prefix + "p99Nanos", histogram.getValueAtPercentile(99));
+        values.put(prefix + "maxNanos", histogram.getMax());
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format("%.1f us", nanos / 1e3);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format("%.1f ms", nanos / 1e6);
+        }
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
@@ -0,0 +1,132 @@
+package duke.dependencies.metrics;
+
+import duke.dependencies.executable.CommandType;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events around the phases of a command, so that a recording shows which command a pause in
+ * Duke belongs to, how large the list was, and how much was read or written.
+ *
+ * The events are disabled by default, and cost next to nothing unless a recording enables them, such as one started
+ * from JDK Mission Control with them ticked, or with {@code -XX:StartFlightRecording:settings=duke.jfc} given a copy
+ * of the default settings that enables {@code duke.Parse}, {@code duke.Execute} and the others below. An event is
+ * made and begun before its phase, and ended after it with {@link #end(CommandType, int, long)}:
+ *
+ * <pre>
+ *     DukeEvent event = new DukeEvent.Execute();
+ *     event.begin();
+ *     ...
+ *     event.end(type, listSize, bytes);
+ * </pre>
+ */
+@Category("Duke")
+@Enabled(false)
+@StackTrace(false)
+public abstract class DukeEvent extends Event {
+
+    // Not private, as Flight Recorder leaves out the private fields of a superclass.
+
+    @Label("Command Type")
+    @Description("Type of the command, or null for work done outside of any command")
+    protected String commandType;
+
+    @Label("List Size")
+    @Description("Number of tasks in the list")
+    protected int listSize;
+
+    @Label("Bytes")
+    @Description("Bytes read or written")
+    @DataAmount
+    protected long bytes;
+
+    /** Only the events below. */
+    private DukeEvent() {}
+
+    /**
+     * Ends the event and records it, if it is enabled and took long enough.
+     *
+     * @param type Type of the command, or null outside of a command.
+     * @param listSize Number of tasks in the list.
+     * @param bytes Bytes read or written.
+     */
+    public void end(CommandType type, int listSize, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.commandType = type == null ? null : type.name();
+            this.listSize = listSize;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+
+    /**
+     * Parsing of a command. Its bytes are the characters of the command.
+     */
+    @Name("duke.Parse")
+    @Label("Parse Command")
+    public static final class Parse extends DukeEvent {
+    }
+
+    /**
+     * Execution of a command, saving included. Its bytes are those read and written by the thread executing it.
+     */
+    @Name("duke.Execute")
+    @Label("Execute Command")
+    public static final class Execute extends DukeEvent {
+    }
+
+    /**
+     * Saving of a change to the list, however it is saved. Its bytes are those written by the thread making the
+     * change; a save left to a background thread writes nothing here.
+     */
+    @Name("duke.Persist")
+    @Label("Persist Change")
+    public static final class Persist extends DukeEvent {
+        @Label("Change")
+        private final String change;
+
+        public Persist(String change) {
+            this.change = change;
+        }
+    }
+
+    /**
+     * Reading or writing of a whole file by the {@code Storage}. Its bytes are the size of the file.
+     */
+    @Name("duke.Storage")
+    @Label("Read or Write File")
+    public static final class Storage extends DukeEvent {
+        @Label("Operation")
+        private final String operation;
+
+        @Label("File")
+        private final String file;
+
+        public Storage(String operation, String file) {
+            this.operation = operation;
+            this.file = file;
+        }
+    }
+
+    /**
+     * Loading of the saved list when Duke starts. Its bytes are those read while loading.
+     */
+    @Name("duke.Load")
+    @Label("Load List")
+    public static final class Load extends DukeEvent {
+        @Label("Storage Mode")
+        private final String mode;
+
+        public Load(String mode) {
+            this.mode = mode;
+        }
+    }
+}
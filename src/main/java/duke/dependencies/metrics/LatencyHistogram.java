@@ -0,0 +1,121 @@
+package duke.dependencies.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations in nanoseconds, recorded without locking by any number of threads at once.
+ *
+ * Like an HDR histogram, the durations are counted in buckets that split each power of two into
+ * {@link #SUB_BUCKETS} buckets of the same width, so a duration read back is within about 3% of the one recorded
+ * whatever its size, while the histogram takes a fixed 9 KB. Durations of more than about 18 minutes are counted as
+ * that. Recording a duration costs two or three atomic additions.
+ *
+ * Reads are not taken at one instant, so a percentile read while durations are recorded may count some of them and
+ * not others.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+
+    /** Number of buckets each power of two is split into. */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Largest duration counted as it is. */
+    private static final long LARGEST = (1L << 40) - 1;
+
+    private static final int BUCKET_COUNT = indexOf(LARGEST) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Counts the given duration.
+     *
+     * @param nanos Duration in nanoseconds. Negative durations, which a clock going back may give, are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), LARGEST);
+        counts.incrementAndGet(indexOf(value));
+        total.addAndGet(value);
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * Returns the bucket the given duration is counted in. Durations below {@link #SUB_BUCKETS} have a bucket each;
+     * above that, the highest {@link #SUB_BITS} + 1 bits of a duration and the position of its highest bit choose
+     * its bucket.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the smallest duration counted in the given bucket.
+     */
+    static long lowestOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * Returns the number of durations counted.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the longest duration counted, or 0 if there is none.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the durations counted, or 0 if there is none.
+     */
+    public long getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : total.get() / count;
+    }
+
+    /**
+     * Returns a duration that the given percentage of the durations counted are at most, to within the width of a
+     * bucket.
+     *
+     * @param percentile Percentage, from 0 to 100.
+     * @return The duration, or 0 if none is counted.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                // The highest duration of the bucket, as it is the one that all the durations in it are at most.
+                return Math.min(lowestOf(i + 1) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,193 @@
+package duke.dependencies.metrics;
+
+import duke.dependencies.executable.CommandType;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Measurements of the commands carried out, by their type. See {@link CommandMetrics} for what is measured.
+ *
+ * Saving happens deep below the command that causes it, so the type of the command being executed is kept for the
+ * thread executing it, between {@link #enter(CommandType)} and {@link #exit()}. Saves and writes made outside of any
+ * command, such as those made in the background, are recorded under {@link #background()}. Each thread also keeps a
+ * count of the bytes it has read and written, for the {@link DukeEvent}s around what it does.
+ */
+public final class Metrics {
+
+    /** Name the measurements are registered under with JMX. */
+    public static final String OBJECT_NAME = "duke:type=Metrics";
+
+    private static final CommandMetrics[] BY_TYPE = new CommandMetrics[CommandType.values().length];
+    private static final CommandMetrics BACKGROUND = new CommandMetrics();
+
+    /** What each thread is doing. */
+    private static final ThreadLocal<Scope> CURRENT = ThreadLocal.withInitial(Scope::new);
+
+    static {
+        for (int i = 0; i < BY_TYPE.length; i++) {
+            BY_TYPE[i] = new CommandMetrics();
+        }
+    }
+
+    /** Private constructor. */
+    private Metrics() {}
+
+    /**
+     * Returns the measurements of the commands of the given type.
+     */
+    public static CommandMetrics of(CommandType type) {
+        return BY_TYPE[type.ordinal()];
+    }
+
+    /**
+     * Returns the measurements of what is done outside of any command.
+     */
+    public static CommandMetrics background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * Returns the measurements of the command being executed by this thread, or those of the background if there is
+     * none.
+     */
+    public static CommandMetrics current() {
+        CommandType type = CURRENT.get().type;
+        return type == null ? BACKGROUND : of(type);
+    }
+
+    /**
+     * Returns the type of the command being executed by this thread, or null if there is none.
+     */
+    public static CommandType currentType() {
+        return CURRENT.get().type;
+    }
+
+    /**
+     * Records that this thread starts executing a command of the given type, until {@link #exit()}.
+     *
+     * @param type Type of the command.
+     * @return Measurements of the commands of that type.
+     */
+    public static CommandMetrics enter(CommandType type) {
+        CURRENT.get().type = type;
+        return of(type);
+    }
+
+    /**
+     * Records that this thread is done executing its command.
+     */
+    public static void exit() {
+        CURRENT.get().type = null;
+    }
+
+    /**
+     * Records that this thread wrote the given number of bytes to save the list, for the command it is executing.
+     */
+    public static void recordBytesWritten(long bytes) {
+        Scope scope = CURRENT.get();
+        scope.bytesMoved += bytes;
+        (scope.type == null ? BACKGROUND : of(scope.type)).recordBytesWritten(bytes);
+    }
+
+    /**
+     * Records that this thread read the given number of bytes of the saved list.
+     */
+    public static void recordBytesRead(long bytes) {
+        CURRENT.get().bytesMoved += bytes;
+    }
+
+    /**
+     * Returns the number of bytes this thread has read and written so far. What a phase moved is the difference of
+     * this number after and before it.
+     */
+    public static long bytesMovedByThisThread() {
+        return CURRENT.get().bytesMoved;
+    }
+
+    /**
+     * Returns the measurements of every type of command used so far, one type after another.
+     *
+     * @return The report, or a line saying that nothing has been measured yet.
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (CommandType type : CommandType.values()) {
+            CommandMetrics metrics = of(type);
+            if (metrics.isUsed()) {
+                if (sb.length() > 0) {
+                    sb.append("\n");
+                }
+                metrics.appendTo(sb, nameOf(type));
+            }
+        }
+        if (BACKGROUND.isUsed()) {
+            if (sb.length() > 0) {
+                sb.append("\n");
+            }
+            sb.append("in the background: ").append(BACKGROUND.getErrors()).append(" errors, ")
+                    .append(CommandMetrics.formatBytes(BACKGROUND.getBytesWritten())).append(" written");
+        }
+        return sb.length() == 0 ? "Nothing has been measured yet." : sb.toString();
+    }
+
+    /**
+     * Returns every measurement by name, as described in {@link MetricsMXBean#getValues()}.
+     */
+    public static Map<String, Long> values() {
+        Map<String, Long> values = new TreeMap<>();
+        for (CommandType type : CommandType.values()) {
+            of(type).putValues(values, nameOf(type) + ".");
+        }
+        BACKGROUND.putValues(values, "background.");
+        return values;
+    }
+
+    private static String nameOf(CommandType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Registers the measurements with the platform MBean server, under {@link #OBJECT_NAME}. Does nothing if they
+     * are already registered.
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new Bean(), name);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * What a thread is doing, changed only by that thread.
+     */
+    private static final class Scope {
+        private CommandType type;
+        private long bytesMoved;
+    }
+
+    /**
+     * The measurements as seen over JMX.
+     */
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public Map<String, Long> getValues() {
+            return values();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package duke.dependencies.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the measurements of Duke, registered as {@value Metrics#OBJECT_NAME} so that they can be
+ * watched with JConsole or any other JMX client.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returns the report shown by the metrics command.
+     */
+    String getReport();
+
+    /**
+     * Returns every measurement by name, the name of its command type in lower case followed by what it measures,
+     * such as {@code add.execute.p99Nanos} or {@code import.bytesWritten}.
+     */
+    Map<String, Long> getValues();
+}
@@ -1,14 +1,25 @@
 package duke.dependencies.parser;
 
 import duke.UserAuthenticator;
-import duke.dependencies.dukeexceptions.DukeException;
-import duke.dependencies.dukeexceptions.EmptyTaskException;
-import duke.dependencies.dukeexceptions.InvalidDateException;
-import duke.dependencies.dukeexceptions.UnknownCommandException;
-import duke.dependencies.dukeexceptions.UnspecifiedDateException;
+import duke.dependencies.dukeexceptions.InvalidIndexException;
 import duke.dependencies.executable.Command;
+import duke.dependencies.executable.CommandType;
 import duke.dependencies.executable.Executable;
+import duke.dependencies.executor.CommandPipeline;
+import duke.dependencies.executor.CommandResult;
 import duke.dependencies.executor.Executor;
+import duke.dependencies.metrics.CommandMetrics;
+import duke.dependencies.metrics.DukeEvent;
+import duke.dependencies.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 
 /**
@@ -29,12 +40,23 @@ public class Controller {
 
     private boolean isInUserAuthenticationMode = false;
 
+    /** Carries out the commands given to {@link #parseAndExecAsync(String)}, started by the first of them. */
+    private CommandPipeline pipeline;
+
+    /** Whether import commands may only import files in {@link #importDirectory}. */
+    private final boolean isImportConfined;
+
+    /** Directory the files of import commands must be in if they are confined, or null if none may be imported. */
+    private final Path importDirectory;
+
     /**
      * Private constructor for a Parser object.
      */
-    private Controller() {
+    private Controller(boolean isImportConfined, Path importDirectory) {
         exe = Executor.initExecutor();
         userAuthenticator = UserAuthenticator.init();
+        this.isImportConfined = isImportConfined;
+        this.importDirectory = importDirectory;
     }
 
     /**
@@ -43,7 +65,19 @@ public class Controller {
      * @return The Parser object.
      */
     public static Controller init() {
-        return new Controller();
+        return new Controller(false, null);
+    }
+
+    /**
+     * Initializer for a Parser taking commands from someone other than the user of this machine, such as a client
+     * of the server, who should not read every file Duke can. Import commands may then only import the files in the
+     * given directory, or none at all.
+     *
+     * @param importDirectory Directory whose files may be imported, or null if no file may be imported.
+     * @return The Parser object.
+     */
+    public static Controller initWithImportsFrom(Path importDirectory) {
+        return new Controller(true, importDirectory);
     }
 
     /**
@@ -65,6 +99,56 @@ public class Controller {
     }
 
 
+    /**
+     * Saves any unsaved changes to the task list. Called when Duke is closing. Commands already given to
+     * {@link #parseAndExecAsync(String)} are carried out first.
+     */
+    public void close() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+        exe.close();
+    }
+
+    /**
+     * Returns the reply to a command with a mistake.
+     *
+     * @param parsed Result of parsing the command, which failed.
+     * @return Reply telling the user what is wrong.
+     */
+    private static String replyToMistake(ParseResult parsed) {
+        switch (parsed.getError()) {
+        case EMPTY_TASK:
+            return "You have to tell me what you want from me\nbefore I can do anything!!! O.o";
+        case UNSPECIFIED_DATE:
+            return "You need to give me the date!!!";
+        case UNKNOWN_COMMAND:
+            return "C'mon, you know I don't understand this!";
+        case INVALID_DATE:
+            return "I don't understand the date you are giving -_-\n" +
+                    "Please give in either format:\n" +
+                    "1. MM/dd/yyyy\n2. yyyy-MM-dd";
+        default:
+            return "HUH???" + parsed.getMessage();
+        }
+    }
+
+    /**
+     * Returns the reply to a command that could not be carried out by the pipeline.
+     *
+     * @param failure What the future of the reply failed with.
+     * @return Reply telling the user what went wrong.
+     */
+    private static String replyToFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause instanceof RejectedExecutionException) {
+            return "Hold on, I'm still working on what you gave me before!\nTry again in a moment.";
+        }
+        return "Something went wrong while I was working on that: " + cause.getMessage();
+    }
+
     /**
      * Parses given command and determines if it is a valid command,
      * and calls an executor to execute a valid command.
@@ -73,80 +157,172 @@ public class Controller {
      * @return Reply: what was done by the execution of input.
      */
     public String parseAndExec(String command) {
-        Parser parser;
-        if (!isInUserAuthenticationMode) {
-            try {
-                parser = Parser.parseAndCheck(command);
-            } catch (EmptyTaskException e) {
-                return "You have to tell me what you want from me\nbefore I can do anything!!! O.o";
-            } catch (UnspecifiedDateException e) {
-                return "You need to give me the date!!!";
-            } catch (UnknownCommandException e) {
-                return "C'mon, you know I don't understand this!";
-            } catch (InvalidDateException e) {
-                return "I don't understand the date you are giving -_-\n" +
-                        "Please give in either format:\n" +
-                        "1. MM/dd/yyyy\n2. yyyy-MM-dd";
-            } catch (DukeException e) {
-                return "HUH???" + e.getMessage();
+        return parseAndRun(command, (type, work) -> CompletableFuture.completedFuture(work.get())).join();
+    }
+
+    /**
+     * Parses the given command as {@link #parseAndExec(String)} does, but carries out a valid command on a
+     * {@link CommandPipeline} instead of the calling thread, so that the caller is not held up by a long command.
+     * Commands are still parsed on the calling thread, in the order they are given, and like parseAndExec this
+     * should only be called from one thread at a time.
+     *
+     * @param command The given input by the user.
+     * @return Future of the reply, which never fails.
+     */
+    public CompletableFuture<String> parseAndExecAsync(String command) {
+        if (pipeline == null) {
+            pipeline = CommandPipeline.init();
+        }
+        return parseAndRun(command, pipeline::submit).exceptionally(Controller::replyToFailure);
+    }
+
+    private CompletableFuture<String> parseAndRun(String command, CommandRunner runner) {
+        if (isInUserAuthenticationMode) {
+            // Quits user authentication mode even if the password entered is wrong.
+            isInUserAuthenticationMode = false;
+            if (!userAuthenticator.check(command)) {
+                // Clearing of task list will not execute.
+                return CompletableFuture.completedFuture("You've entered the wrong pw!");
             }
+            Executable clear = Command.createClearCacheCommand(null);
+            return runner.run(clear.getType(), () -> execAndReply(clear));
+        }
 
-            /* If no DukeException is thrown, it means user input is valid and follows all specific format */
+        DukeEvent event = new DukeEvent.Parse();
+        event.begin();
+        long start = System.nanoTime();
+        ParseResult parsed = Parser.parse(command);
+        long parseNanos = System.nanoTime() - start;
+        // The type of a command with a mistake is not known.
+        CommandType type = parsed.isSuccess() ? parsed.getExecutable().getType() : CommandType.INVALID;
+        event.end(type, exe.getListSize(), command.length());
+        if (!parsed.isSuccess()) {
+            CommandMetrics metrics = Metrics.of(type);
+            metrics.recordParse(parseNanos);
+            metrics.recordError();
+            return CompletableFuture.completedFuture(replyToMistake(parsed));
+        }
 
-            Executable e = parser.getExecutable();
+        /* The command is valid and follows all specific format */
 
-            String reply;
+        Executable e = parsed.getExecutable();
+        Metrics.of(type).recordParse(parseNanos);
+        if (e.getType() == CommandType.IMPORT && isImportConfined) {
+            Path file = confineImport(e.getFileName());
+            if (file == null) {
+                return CompletableFuture.completedFuture(importDirectory == null
+                        ? "Sorry, I can't import files here."
+                        : "Sorry, I can only import files in " + importDirectory + " here.");
+            }
+            e = Command.createImportCommand(e.getTask(), file.toString(), e.isPartial());
+        }
+        if (e.getType() == CommandType.AUTHCHECK) {
+            isInUserAuthenticationMode = true;
+            return CompletableFuture.completedFuture("Please enter your password before I clear your whole list.");
+        }
+        Executable toRun = e;
+        return runner.run(toRun.getType(), () -> execAndReply(toRun));
+    }
 
-            reply = exe.receiveAndExec(e);
+    /**
+     * Returns the file of an import command, looked up in the import directory, or null if it is not in there. Links
+     * are followed, so that a link in the directory to a file outside it is not imported.
+     */
+    private Path confineImport(String fileName) {
+        if (importDirectory == null) {
+            return null;
+        }
+        try {
+            Path directory = importDirectory.toRealPath();
+            Path file = directory.resolve(fileName).normalize();
+            if (Files.exists(file)) {
+                file = file.toRealPath();
+            }
+            return file.startsWith(directory) ? file : null;
+        } catch (IOException | InvalidPathException ex) {
+            return null;
+        }
+    }
 
-            switch (e.getType()) {
-            case LIST:
-                return String.format("Here are the tasks in your list:\n%s", reply);
+    /**
+     * Executes the given command and renders the reply to it. The sizes of the list given in the replies are those
+     * the command left, as counted by the command itself.
+     */
+    private String execAndReply(Executable e) {
+        CommandResult result = exe.execute(e);
+        if (!result.isSuccess()) {
+            String mistake = result.getError().replace("Error: ", "") + ".";
+            if (result.getFailure() instanceof InvalidIndexException) {
+                return "I can't find what you are referring to -_-\n" + mistake;
+            }
+            return mistake;
+        }
+        String reply = result.render();
 
-            case DONE:
-                return String.format("Congratz! I will marked this task as completed for you!\n%s\n" +
-                                "Keep up the good work and continue to stay motivated.\n" +
-                                "You've only got %d task left to be completed!",
-                        reply,
-                        exe.getNumOfIncompleteTasks());
+        switch (e.getType()) {
+        case LIST:
+            return String.format("Here are the tasks in your list:\n%s", reply);
 
-            case DELETE:
-                return String.format("Noted. I've removed this task:\n%s\n" +
-                                "Now you have %d tasks left in the list.",
-                        reply,
-                        exe.getListSize());
+        case DONE:
+            return String.format("Congratz! I will marked this task as completed for you!\n%s\n" +
+                            "Keep up the good work and continue to stay motivated.\n" +
+                            "You've only got %d task left to be completed!",
+                    reply,
+                    result.getNumOfIncomplete());
 
-            case AUTHCHECK:
-                isInUserAuthenticationMode = true;
-                return "Please enter your password before I clear your whole list.";
+        case DELETE:
+            return String.format("Noted. I've removed this task:\n%s\n" +
+                            "Now you have %d tasks left in the list.",
+                    reply,
+                    result.getListSize());
 
-            case FIND:
-                return String.format("Here are the tasks matching: %s\n" +
-                        reply, e.getTask().showTaskDescription());
+        case CLEAR:
+            return reply;
 
-            case ADD:
-                return String.format("Got it! I have added the task:\n%s\n"
-                                + "Now you have %s tasks in the list.",
-                        reply,
-                        exe.getListSize());
+        case FIND:
+            return String.format("Here are the tasks matching: %s\n%s", e.getTask().showTaskDescription(), reply);
 
-            default:
-                return "Something is not right. This should not be printed. Error in Controller.java";
-            }
-        } else {
-
-            // In user authentication mode. Check for user password validity.
-            if (userAuthenticator.check(command)) {
-                isInUserAuthenticationMode = false;
-                String reply = exe.receiveAndExec(Command.createClearCacheCommand(null));
-                return reply;
-            } else {
-                // Quits user authentication mode even if the password entered is wrong.
-                // Clearing of task list will not execute.
-                isInUserAuthenticationMode = false;
-                return "You've entered the wrong pw!";
-            }
+        case STATS:
+            return String.format("Here is how your list is coming along:\n%s", reply);
+
+        case DUE:
+            return String.format("Here are the tasks due before %s:\n%s",
+                    e.getTask().showTaskDescription(), reply);
+
+        case BETWEEN:
+            return String.format("Here are the tasks between %s and %s:\n%s", e.getFromDate(), e.getToDate(), reply);
+
+        case UPCOMING:
+            return String.format("Here is what is coming up:\n%s", reply);
+
+        case METRICS:
+            return String.format("Here is where the time went:\n%s", reply);
+
+        case IMPORT:
+            return String.format("%s\nNow you have %d tasks in the list.", reply, result.getListSize());
+
+        case ADD:
+            return String.format("Got it! I have added the task:\n%s\n"
+                            + "Now you have %s tasks in the list.",
+                    reply,
+                    result.getListSize());
+
+        default:
+            return "Something is not right. This should not be printed. Error in Controller.java";
         }
+    }
 
+    /**
+     * Carries out a command, on the calling thread or another one.
+     */
+    private interface CommandRunner {
+        /**
+         * Carries out the command of the given type.
+         *
+         * @param type Type of the command.
+         * @param work Carries out the command, returning the reply to it.
+         * @return Future of the reply.
+         */
+        CompletableFuture<String> run(CommandType type, Supplier<String> work);
     }
 }
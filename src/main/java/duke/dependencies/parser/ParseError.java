@@ -0,0 +1,44 @@
+package duke.dependencies.parser;
+
+import duke.dependencies.dukeexceptions.DukeException;
+import duke.dependencies.dukeexceptions.EmptyTaskException;
+import duke.dependencies.dukeexceptions.InvalidDateException;
+import duke.dependencies.dukeexceptions.UnknownCommandException;
+import duke.dependencies.dukeexceptions.UnspecifiedDateException;
+
+/**
+ * Kinds of mistakes found in a command by the Parser. Each corresponds to the DukeException thrown for it by
+ * {@link Parser#parseAndCheck(String)}.
+ */
+public enum ParseError {
+    /** A command about a task that does not give the task. */
+    EMPTY_TASK,
+
+    /** A command that needs a date but does not give one. */
+    UNSPECIFIED_DATE,
+
+    /** A date in a format that is not accepted. */
+    INVALID_DATE,
+
+    /** A command that is not known, or whose arguments are not in its form. */
+    UNKNOWN_COMMAND;
+
+    /**
+     * Returns the DukeException for this kind of mistake.
+     *
+     * @param message Detail message of the exception.
+     * @return The exception, not yet thrown.
+     */
+    DukeException toException(String message) {
+        switch (this) {
+        case EMPTY_TASK:
+            return new EmptyTaskException(message);
+        case UNSPECIFIED_DATE:
+            return new UnspecifiedDateException(message);
+        case INVALID_DATE:
+            return new InvalidDateException(message);
+        default:
+            return new UnknownCommandException(message);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package duke.dependencies.parser;
+
+import duke.dependencies.dukeexceptions.DukeException;
+import duke.dependencies.executable.Executable;
+
+/**
+ * Result of parsing a command: either the Executable of the command, or the mistake found in it. A mistake is
+ * returned instead of thrown, so that input with many mistakes, as from a script, costs no more to parse than input
+ * without any.
+ *
+ * The only kinds of result are the two made by {@link #success(Executable)} and {@link #failure(ParseError, String)}.
+ */
+public abstract class ParseResult {
+
+    private ParseResult() {
+    }
+
+    /**
+     * Returns the result of a valid command.
+     *
+     * @param e Executable of the command.
+     * @return Successful result.
+     */
+    static ParseResult success(Executable e) {
+        return new Success(e);
+    }
+
+    /**
+     * Returns the result of a command with a mistake.
+     *
+     * @param error Kind of mistake.
+     * @param message Message describing the mistake, in the form of the message of a DukeException.
+     * @return Failed result.
+     */
+    static ParseResult failure(ParseError error, String message) {
+        return new Failure(error, message);
+    }
+
+    /**
+     * Returns whether the command is valid.
+     * @return True if the command has no mistake.
+     */
+    public abstract boolean isSuccess();
+
+    /**
+     * Returns the Executable of the command.
+     * @return Executable of the command.
+     * @throws IllegalStateException if the command has a mistake.
+     */
+    public abstract Executable getExecutable();
+
+    /**
+     * Returns the kind of mistake in the command.
+     * @return Kind of mistake, null if the command is valid.
+     */
+    public abstract ParseError getError();
+
+    /**
+     * Returns the message describing the mistake in the command.
+     * @return Message, null if the command is valid.
+     */
+    public abstract String getMessage();
+
+    /**
+     * Returns the Executable of the command, or throws the DukeException for its mistake.
+     *
+     * @return Executable of the command.
+     * @throws DukeException if the command has a mistake.
+     */
+    public abstract Executable getExecutableOrThrow() throws DukeException;
+
+    private static final class Success extends ParseResult {
+        private final Executable executable;
+
+        private Success(Executable executable) {
+            this.executable = executable;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public Executable getExecutable() {
+            return executable;
+        }
+
+        @Override
+        public ParseError getError() {
+            return null;
+        }
+
+        @Override
+        public String getMessage() {
+            return null;
+        }
+
+        @Override
+        public Executable getExecutableOrThrow() {
+            return executable;
+        }
+    }
+
+    private static final class Failure extends ParseResult {
+        private final ParseError error;
+        private final String message;
+
+        private Failure(ParseError error, String message) {
+            this.error = error;
+            this.message = message;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        public Executable getExecutable() {
+            throw new IllegalStateException("Command has a mistake: " + message);
+        }
+
+        @Override
+        public ParseError getError() {
+            return error;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public Executable getExecutableOrThrow() throws DukeException {
+            throw error.toException(message);
+        }
+    }
+}
@@ -1,21 +1,33 @@
 package duke.dependencies.parser;
 
 import duke.dependencies.dukeexceptions.DukeException;
-import duke.dependencies.dukeexceptions.EmptyTaskException;
-import duke.dependencies.dukeexceptions.InvalidDateException;
-import duke.dependencies.dukeexceptions.UnknownCommandException;
 import duke.dependencies.executable.Command;
 import duke.dependencies.executable.Executable;
+import duke.dependencies.storage.TaskSelection;
 import duke.dependencies.task.Task;
 import duke.dependencies.task.TaskDate;
+import duke.dependencies.task.TaskType;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * A Class to parse commands.
  */
 public class Parser {
+    /** Number of tasks on a page when a list command gives a page but no size. */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Number of tasks shown by an upcoming command that gives no number. */
+    private static final int DEFAULT_UPCOMING_COUNT = 5;
+
+    /** Patterns of the words checked for by {@link #checkForWord(String, String)}, by the word. */
+    private static final Map<String, Pattern> WORD_PATTERNS = new ConcurrentHashMap<>();
+
     private final Executable command;
 
     /**
@@ -47,11 +59,18 @@ public class Parser {
      * the user does not match any form of valid commands.
      */
     public static Parser parseAndCheck(String s) throws DukeException {
-        try {
-            return parseExplicitCommand(s);
-        } catch (DukeException e) {
-            throw e;
-        }
+        return new Parser(parse(s).getExecutableOrThrow());
+    }
+
+    /**
+     * Parses the given command without throwing for a mistake in it. Mistakes are returned with the kind of
+     * DukeException {@link #parseAndCheck(String)} would throw for them.
+     *
+     * @param s String to be parsed.
+     * @return The Executable of the command, or the mistake found in it.
+     */
+    public static ParseResult parse(String s) {
+        return parseExplicitCommand(s);
     }
 
 //    /**
@@ -79,6 +98,32 @@ public class Parser {
     /* -------------------------------------- END OF PUBLIC METHODS ----------------------------------------------- */
 
 
+    /**
+     * Parses the arguments that follow a command word into the Executable of the command.
+     */
+    @FunctionalInterface
+    private interface ArgumentParser {
+        ParseResult parse(String args);
+    }
+
+    /** Parser of the arguments of each command, by its first word in lower case. */
+    private static final Map<String, ArgumentParser> COMMANDS = Map.ofEntries(
+            Map.entry("list", Parser::parseList),
+            Map.entry("done", Parser::parseDone),
+            Map.entry("todo", Parser::parseTodo),
+            Map.entry("event", Parser::parseEvent),
+            Map.entry("deadline", Parser::parseDeadline),
+            Map.entry("delete", Parser::parseDelete),
+            Map.entry("find", Parser::parseFind),
+            Map.entry("due", Parser::parseDueBefore),
+            Map.entry("between", Parser::parseBetween),
+            Map.entry("upcoming", Parser::parseUpcoming),
+            Map.entry("import", Parser::parseImport),
+            Map.entry("stats", args -> ParseResult.success(Command.createStatsCommand(null))),
+            Map.entry("metrics", args -> ParseResult.success(Command.createMetricsCommand(null))),
+            Map.entry("clear", Parser::parseClearData),
+            Map.entry("authentication::success", args -> ParseResult.success(Command.createClearCacheCommand(null))));
+
     /**
      * Checks for command that is passed in explicit format.
      * eg.
@@ -86,129 +131,338 @@ public class Parser {
      * 2) "todo (task)"
      * 3) "deadline (task) /by (date)"
      *
+     * The first word of the input, in any case, chooses the command, and the rest of the input, trimmed, is passed
+     * to the parser of its arguments. The input is read once, without regular expressions.
+     *
      * @param s input
-     * @return Checker object
+     * @return The Executable of the command, or the mistake found in it.
      */
-    private static Parser parseExplicitCommand(String s) throws DukeException {
-        Executable e;
+    private static ParseResult parseExplicitCommand(String s) {
+        int start = skipSpaces(s, 0);
+        int end = start;
+        while (end < s.length() && !Character.isWhitespace(s.charAt(end))) {
+            end++;
+        }
+        ArgumentParser command = COMMANDS.get(s.substring(start, end).toLowerCase(Locale.ROOT));
+        if (command == null) {
+            return unknownCommand("Error: Unknown command");
+        }
+        return command.parse(s.substring(end).trim());
+    }
+
+    private static ParseResult parseList(String args) {
+        return args.isEmpty() ? ParseResult.success(Command.createListCommand(null)) : parseListPage(args);
+    }
 
-        /* LIST COMMAND */
-        if (checkForWord(s, "list")) {
-            e = Command.createListCommand(null);
+    private static ParseResult parseDone(String task) {
+        if (task.isEmpty()) {
+            return emptyTask("Error: Done task cannot be empty");
         }
-        /* DONE COMMAND */
-        else if (checkForWord(s, "done")) {
-            String task = cutOutTheWord(s, "done ");
-            if (task.isBlank() || task.isEmpty()) {
-                throw new EmptyTaskException("Error: Done task cannot be empty");
-            }
-            Task t = Task.createMiscTask(task);
-            e = Command.createDoneCommand(t);
+        TaskSelection selection = TaskSelection.read(task);
+        if (!selection.isValid()) {
+            return unknownCommand(selection.getMistake());
+        }
+        return ParseResult.success(Command.createDoneCommand(Task.createMiscTask(task), selection));
+    }
 
+    private static ParseResult parseTodo(String task) {
+        if (task.isEmpty()) {
+            return emptyTask("Error: Todo task cannot be empty");
         }
-        /* TODO_COMMAND */
-        else if (checkForWord(s, "todo")) {
-            String task = cutOutTheWord(s, "todo ");
-            Task t = Task.createTodo(task);
-            if (task.isEmpty() || task.isBlank()) {
-                throw new EmptyTaskException("Error: Todo task cannot be empty");
-            }
-            e = Command.createAddCommand(t);
+        return ParseResult.success(Command.createAddCommand(Task.createTodo(task)));
+    }
 
+    private static ParseResult parseEvent(String task) {
+        if (task.isEmpty()) {
+            return emptyTask("Error: Event task cannot be empty");
         }
-        /* EVENT COMMAND */
-        else if (checkForWord(s, "event")) {
-            String task = cutOutTheWord(s, "event ");
-            if (task.isBlank() || task.isEmpty()) {
-                throw new EmptyTaskException("Error: Event task cannot be empty");
-            }
-            String[] arr = task.split("/at");
-            if (!TaskDate.isValidFormat(arr[1].trim())) {
-                throw new InvalidDateException("Error: Date format not accepted.");
-            }
-            Task t = Task.createEvent(arr[0].trim(), arr[1].trim());
-            e = Command.createAddCommand(t);
+        int at = task.indexOf("/at");
+        String date = dateAfter(task, at, "/at");
+        TaskDate parsed = date.isEmpty() ? null : TaskDate.tryParse(date);
+        if (parsed == null) {
+            return checkDate(date);
+        }
+        Task t = Task.createOfType(TaskType.EVENT, task.substring(0, at).trim(), date, parsed);
+        return ParseResult.success(Command.createAddCommand(t));
+    }
+
+    private static ParseResult parseDeadline(String task) {
+        if (task.isEmpty()) {
+            return emptyTask("Error: Deadline tasks cannot be empty");
+        }
+        int by = task.indexOf("/by");
+        String date = dateAfter(task, by, "/by");
+        TaskDate parsed = date.isEmpty() ? null : TaskDate.tryParse(date);
+        if (parsed == null) {
+            return checkDate(date);
+        }
+        Task t = Task.createOfType(TaskType.DEADLINE, task.substring(0, by).trim(), date, parsed);
+        return ParseResult.success(Command.createAddCommand(t));
+    }
+
+    private static ParseResult parseDelete(String task) {
+        if (task.isEmpty()) {
+            return emptyTask("Error: Task to be deleted cannot be empty");
+        }
+        TaskSelection selection = TaskSelection.read(task);
+        if (!selection.isValid()) {
+            return unknownCommand(selection.getMistake());
+        }
+        return ParseResult.success(Command.createDeleteCommand(Task.createMiscTask(task), selection));
+    }
+
+    private static ParseResult parseFind(String task) {
+        if (task.isEmpty()) {
+            return emptyTask("Error: Empty field for find: keyword");
+        }
+        return ParseResult.success(Command.createFindCommand(Task.createMiscTask(task)));
+    }
+
+    private static ParseResult parseDueBefore(String args) {
+        String date = afterWord(args, "before");
+        if (date == null) {
+            return unknownCommand("Error: Unknown command");
+        }
+        TaskDate before = date.isEmpty() ? null : TaskDate.tryParse(date);
+        if (before == null) {
+            return checkDate(date);
+        }
+        return ParseResult.success(Command.createDueCommand(Task.createMiscTask(date), before));
+    }
 
+    private static ParseResult parseBetween(String args) {
+        int firstEnd = 0;
+        while (firstEnd < args.length() && !Character.isWhitespace(args.charAt(firstEnd))) {
+            firstEnd++;
+        }
+        int secondStart = skipSpaces(args, firstEnd);
+        if (args.isEmpty() || secondStart == args.length() || hasSpace(args, secondStart)) {
+            return ParseResult.failure(ParseError.UNSPECIFIED_DATE, "Error: Between takes two dates");
         }
-        /* DEADLINE COMMAND */
-        else  if (checkForWord(s, "deadline")) {
-            String task = cutOutTheWord(s, "deadline ");
-            if (task.isEmpty() || task.isBlank()) {
-                throw new EmptyTaskException("Error: Deadline tasks cannot be empty");
+        String from = args.substring(0, firstEnd);
+        String to = args.substring(secondStart);
+        TaskDate fromDate = TaskDate.tryParse(from);
+        if (fromDate == null) {
+            return checkDate(from);
+        }
+        TaskDate toDate = TaskDate.tryParse(to);
+        if (toDate == null) {
+            return checkDate(to);
+        }
+        Task dates = Task.createMiscTask(from + " " + to);
+        return ParseResult.success(Command.createBetweenCommand(dates, fromDate, toDate));
+    }
+
+    /**
+     * Parses the argument of an upcoming command, the number of tasks to show, or the default number if none is
+     * given.
+     */
+    private static ParseResult parseUpcoming(String count) {
+        int n = DEFAULT_UPCOMING_COUNT;
+        if (!count.isEmpty()) {
+            n = toNumber(count);
+            if (n < 0) {
+                return unknownCommand("Error: Not a number: " + count);
             }
-            String[] arr = task.split("/by");
-            if (!TaskDate.isValidFormat(arr[1].trim())) {
-                throw new InvalidDateException("Error: Date format not accepted.");
+            if (n < 1) {
+                return unknownCommand("Error: Upcoming takes a number from 1");
             }
-            Task t = Task.createDeadline(arr[0].trim(), arr[1].trim());
-            e = Command.createAddCommand(t);
+        }
+        return ParseResult.success(Command.createUpcomingCommand(Task.createMiscTask(String.valueOf(n)), n));
+    }
 
+    /**
+     * Parses the arguments of an import command, "<file> [--partial]", with the flag either before or after the
+     * file.
+     */
+    private static ParseResult parseImport(String args) {
+        String file = args;
+        boolean isPartial = false;
+        String partial = afterWord(args, "--partial");
+        if (partial != null) {
+            file = partial;
+            isPartial = true;
+        } else if (args.endsWith(" --partial")) {
+            file = args.substring(0, args.length() - " --partial".length()).trim();
+            isPartial = true;
         }
-        /* DELETE COMMAND */
-        else if (checkForWord(s, "delete")) {
-            String task = cutOutTheWord(s, "delete ");
-            if (task.isEmpty() || task.isBlank()) {
-                throw new EmptyTaskException("Error: Task to be deleted cannot be empty");
-            }
-            Task t = Task.createMiscTask(task);
-            e = Command.createDeleteCommand(t);
+        if (file.isEmpty()) {
+            return emptyTask("Error: File to import cannot be empty");
+        }
+        Task t = Task.createMiscTask((isPartial ? "partial " : "all ") + file);
+        return ParseResult.success(Command.createImportCommand(t, file, isPartial));
+    }
+
+    private static ParseResult parseClearData(String args) {
+        if (afterWord(args, "data") == null) {
+            return unknownCommand("Error: Unknown command");
+        }
+        return ParseResult.success(Command.createCheckAuthCommand(null));
+    }
+
+    private static ParseResult emptyTask(String message) {
+        return ParseResult.failure(ParseError.EMPTY_TASK, message);
+    }
+
+    private static ParseResult unknownCommand(String message) {
+        return ParseResult.failure(ParseError.UNKNOWN_COMMAND, message);
+    }
+
+    /**
+     * Returns the date given after the marker, trimmed, up to the next marker if it is given again. The date is
+     * empty if the marker is not given.
+     *
+     * @param task Arguments of the command.
+     * @param at Position of the marker in the arguments, -1 if it is not given.
+     * @param marker Marker before the date, such as "/at".
+     * @return The date.
+     */
+    private static String dateAfter(String task, int at, String marker) {
+        if (at < 0) {
+            return "";
+        }
+        int next = task.indexOf(marker, at + marker.length());
+        return task.substring(at + marker.length(), next < 0 ? task.length() : next).trim();
+    }
 
+    /**
+     * Returns the rest of the arguments, trimmed, if they start with the given word in any case, or null otherwise.
+     */
+    private static String afterWord(String args, String word) {
+        int end = word.length();
+        boolean isWord = args.regionMatches(true, 0, word, 0, end)
+                && (end == args.length() || Character.isWhitespace(args.charAt(end)));
+        return isWord ? args.substring(end).trim() : null;
+    }
+
+    private static int skipSpaces(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
         }
-        /* FIND COMMAND */
-        else if (checkForWord(s, "find")) {
-            String task = cutOutTheWord(s,"find ");
-            if (task.isEmpty() || task.isBlank()) {
-                throw new EmptyTaskException("Error: Empty field for find: keyword");
+        return i;
+    }
+
+    private static boolean hasSpace(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (Character.isWhitespace(s.charAt(i))) {
+                return true;
             }
-            Task t = Task.createMiscTask(task);
-            e = Command.createFindCommand(t);
         }
-        /* CHECK AUTHENTICATION COMMAND */
-        else if (checkForWord(s, "clear data")) {
-            e = Command.createCheckAuthCommand(null);
+        return false;
+    }
+
+    /**
+     * Returns the number written in the given string, or -1 if it is not made only of digits or is too large for an
+     * int.
+     */
+    private static int toNumber(String s) {
+        if (s.isEmpty() || s.length() > 10) {
+            return -1;
         }
-        /* CLEAR CACHE(TASK LIST) COMMAND */
-        else if (checkForWord(s, "authentication::success")) {
-            e = Command.createClearCacheCommand(null);
+        long n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            n = n * 10 + (c - '0');
         }
-        /* MYSTERIOUS ERROR/COMMAND */
-        else {
-            throw new UnknownCommandException("Error: Unknown command");
+        return n > Integer.MAX_VALUE ? -1 : (int) n;
+    }
+
+    /**
+     * Parses the arguments of a list command, "[page N] [size M] [ids]" in any order, into a list command of the page
+     * and size, or of the whole list without a page or a size. Its Misc. Task shows them as "N M", followed by "ids"
+     * if the ids of the tasks are to be shown, or only "ids" for the whole list.
+     *
+     * @param args Arguments after the command word.
+     * @return The list command, or the mistake in the arguments if they are not in this form.
+     */
+    private static ParseResult parseListPage(String args) {
+        int page = 1;
+        int size = DEFAULT_PAGE_SIZE;
+        boolean isPaged = false;
+        boolean isShowingIds = false;
+        String[] words = wordsOf(args);
+        int i = 0;
+        while (i < words.length) {
+            if (words[i].equalsIgnoreCase("ids")) {
+                isShowingIds = true;
+                i++;
+                continue;
+            }
+            if (i + 1 == words.length) {
+                return unknownCommand("Error: List takes 'page N', 'size M' and 'ids'");
+            }
+            isPaged = true;
+            int value = toNumber(words[i + 1]);
+            if (value < 0) {
+                return unknownCommand("Error: Not a number: " + words[i + 1]);
+            }
+            if (value < 1) {
+                return unknownCommand("Error: Page numbers and sizes start from 1");
+            }
+            if (words[i].equalsIgnoreCase("page")) {
+                page = value;
+            } else if (words[i].equalsIgnoreCase("size")) {
+                size = value;
+            } else {
+                return unknownCommand("Error: List takes 'page N', 'size M' and 'ids'");
+            }
+            i += 2;
         }
+        Task t = Task.createMiscTask(isPaged ? page + " " + size + (isShowingIds ? " ids" : "") : "ids");
+        return ParseResult.success(isPaged ? Command.createListCommand(t, page, size, isShowingIds)
+                : Command.createListCommand(t, 0, 0, true));
+    }
 
-        return new Parser(e);
+    /**
+     * Splits the given trimmed arguments into words separated by whitespace.
+     */
+    private static String[] wordsOf(String args) {
+        List<String> words = new ArrayList<>();
+        int i = 0;
+        while (i < args.length()) {
+            int end = i;
+            while (end < args.length() && !Character.isWhitespace(args.charAt(end))) {
+                end++;
+            }
+            words.add(args.substring(i, end));
+            i = skipSpaces(args, end);
+        }
+        return words.toArray(new String[0]);
     }
 
     /**
-     * Case insensitive check for a word.
+     * Returns the mistake in the given date, or null if it is in a format accepted by TaskDate.
+     *
+     * @param date Date to be checked, trimmed.
+     * @return The mistake, null if there is none.
+     */
+    private static ParseResult checkDate(String date) {
+        if (date.isEmpty()) {
+            return ParseResult.failure(ParseError.UNSPECIFIED_DATE, "Error: Date cannot be empty");
+        }
+        if (!TaskDate.isValidFormat(date)) {
+            return ParseResult.failure(ParseError.INVALID_DATE, "Error: Date format not accepted.");
+        }
+        return null;
+    }
+
+    /**
+     * Case insensitive check for a word. The pattern of each word is compiled the first time it is checked for, and
+     * kept for the next checks.
      *
      * @param line Line to check.
      * @param word Word to check for.
      * @return True if the word is in the line.
      */
     public static boolean checkForWord(String line, String word) {
-        return Pattern.compile(
-                String.format(".*?\\b%s\\b.*?", word),
-                Pattern.CASE_INSENSITIVE)
+        return WORD_PATTERNS.computeIfAbsent(word, w -> Pattern.compile("\\b" + w + "\\b", Pattern.CASE_INSENSITIVE))
                 .matcher(line)
                 .find();
     }
 
-    /**
-     * Returns the string with the given word cut out, case-insensitive removal
-     *
-     * @param line Line to cut from.
-     * @param word Word to cut out.
-     * @return Line without the command.
-     */
-    public static String cutOutTheWord(String line, String word) {
-        String c2 = word.toUpperCase(Locale.UK);
-        String l2 = line.toUpperCase(Locale.UK);
-        int idx = l2.indexOf(c2);
-        return line.substring(idx + word.length()).trim();
-
-    }
-
 
     /* ---------------------------------------- Additional Feature Section ------------------------------------------ */
 
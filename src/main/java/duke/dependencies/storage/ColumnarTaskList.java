@@ -0,0 +1,227 @@
+package duke.dependencies.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskDate;
+import duke.dependencies.task.TaskType;
+
+/**
+ * Read-only list of tasks laid out as columns instead of as one object per task. Each task takes a byte for its
+ * type, a bit for whether it is completed, a long for its id, an int for its date and three ints locating its text in
+ * a shared array of UTF-8 bytes, which for a short task is several times less memory than the objects making up a
+ * Task.
+ *
+ * Only the list loaded at startup is kept this way, as the base of every version of the TaskList; tasks added or
+ * changed after that are kept as Tasks by the versions, so only the loaded tasks take less memory.
+ *
+ * A task returned by {@link #get(int)} is a view of its columns, which is shown by appending its text straight from
+ * them, and cannot be changed. Its description and date are only decoded when asked for.
+ */
+class ColumnarTaskList extends AbstractList<Schedulable> implements RandomAccess {
+
+    private static final TaskType[] TYPES = TaskType.values();
+
+    /** Day of a task without a date. */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /** Day of a task whose date is too far off to be counted in an int. Its date is then read from its text. */
+    private static final int DAY_IN_TEXT = Integer.MIN_VALUE + 1;
+
+    private final byte[] types;
+    private final BitSet done = new BitSet();
+    private final long[] ids;
+
+    /** Date of each task, counted in days from 1970-01-01. */
+    private final int[] days;
+
+    /**
+     * Where the text of each task starts, and how many bytes of it are the description and the date. The date is
+     * kept only when it is not written the way {@link LocalDate#toString()} would write its day.
+     */
+    private final int[] textStarts;
+    private final int[] descLengths;
+    private final int[] dateLengths;
+
+    /** Text of every task. */
+    private byte[] text = new byte[1024];
+    private int textEnd = 0;
+
+    private int size = 0;
+
+    private ColumnarTaskList(int capacity) {
+        types = new byte[capacity];
+        ids = new long[capacity];
+        days = new int[capacity];
+        textStarts = new int[capacity];
+        descLengths = new int[capacity];
+        dateLengths = new int[capacity];
+    }
+
+    /**
+     * Returns a columnar list holding the given tasks.
+     *
+     * @param tasks Tasks to be held, in order.
+     * @return The list.
+     */
+    static ColumnarTaskList copyOf(List<Schedulable> tasks) {
+        ColumnarTaskList list = new ColumnarTaskList(tasks.size());
+        for (Schedulable task : tasks) {
+            list.append(task);
+        }
+        list.text = Arrays.copyOf(list.text, list.textEnd);
+        return list;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Schedulable get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Row(index);
+    }
+
+    /**
+     * Writes the given task into the columns after the last one.
+     */
+    private void append(Schedulable task) {
+        int index = size++;
+        types[index] = (byte) task.getType().ordinal();
+        done.set(index, task.isCompleted());
+        ids[index] = task.getId();
+
+        TaskDate date = task.getTaskDate();
+        String rawDate = "";
+        if (date == null) {
+            days[index] = NO_DATE;
+        } else {
+            long day = date.toEpochDay();
+            boolean isIntDay = day > DAY_IN_TEXT && day <= Integer.MAX_VALUE;
+            days[index] = isIntDay ? (int) day : DAY_IN_TEXT;
+            String raw = task.getRawDateString();
+            if (!isIntDay || !raw.equals(LocalDate.ofEpochDay(day).toString())) {
+                rawDate = raw;
+            }
+        }
+
+        byte[] description = task.showTaskDescription().getBytes(StandardCharsets.UTF_8);
+        byte[] dateBytes = rawDate.getBytes(StandardCharsets.UTF_8);
+        int length = description.length + dateBytes.length;
+        if (textEnd + length > text.length) {
+            text = Arrays.copyOf(text, Math.max(textEnd + length, text.length * 2));
+        }
+        textStarts[index] = textEnd;
+        descLengths[index] = description.length;
+        dateLengths[index] = dateBytes.length;
+        System.arraycopy(description, 0, text, textEnd, description.length);
+        System.arraycopy(dateBytes, 0, text, textEnd + description.length, dateBytes.length);
+        textEnd += length;
+    }
+
+    private String descriptionOf(int index) {
+        return new String(text, textStarts[index], descLengths[index], StandardCharsets.UTF_8);
+    }
+
+    private String rawDateOf(int index) {
+        if (days[index] == NO_DATE) {
+            return "";
+        }
+        if (dateLengths[index] == 0) {
+            return LocalDate.ofEpochDay(days[index]).toString();
+        }
+        int from = textStarts[index] + descLengths[index];
+        return new String(text, from, dateLengths[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends the description of the given task, copying it byte by byte while it is ASCII, as most are.
+     */
+    private void appendDescription(StringBuilder sb, int index) {
+        int from = textStarts[index];
+        int end = from + descLengths[index];
+        for (int i = from; i < end; i++) {
+            if (text[i] < 0) {
+                sb.append(new String(text, i, end - i, StandardCharsets.UTF_8));
+                return;
+            }
+            sb.append((char) text[i]);
+        }
+    }
+
+    /**
+     * A task of the list, read from its columns.
+     */
+    private final class Row implements Schedulable {
+        private final int index;
+
+        private Row(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void completed() {
+            throw new UnsupportedOperationException("Tasks of a columnar list cannot be changed");
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return done.get(index);
+        }
+
+        @Override
+        public String showTaskDescription() {
+            return descriptionOf(index);
+        }
+
+        @Override
+        public TaskType getType() {
+            return TYPES[types[index]];
+        }
+
+        @Override
+        public String getRawDateString() {
+            return rawDateOf(index);
+        }
+
+        @Override
+        public TaskDate getTaskDate() {
+            int day = days[index];
+            if (day == NO_DATE) {
+                return null;
+            }
+            return day == DAY_IN_TEXT ? new TaskDate(rawDateOf(index)) : TaskDate.ofEpochDay(day);
+        }
+
+        @Override
+        public long getId() {
+            return ids[index];
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            TaskType type = getType();
+            Task.appendHead(sb, type, isCompleted());
+            appendDescription(sb, index);
+            Task.appendTail(sb, type, rawDateOf(index));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            appendTo(sb);
+            return sb.toString();
+        }
+    }
+}
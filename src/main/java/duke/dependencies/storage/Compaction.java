@@ -0,0 +1,57 @@
+package duke.dependencies.storage;
+
+import java.util.List;
+
+/**
+ * Removes many positions from a list or an array in a single pass. Every element kept is moved at most once, so
+ * removing k positions from n elements costs O(n) instead of the O(n * k) of removing them one at a time.
+ */
+final class Compaction {
+
+    private Compaction() {}
+
+    /**
+     * Removes the given positions from the list.
+     *
+     * @param list List to remove from. Should support setting elements cheaply, like an ArrayList.
+     * @param positions Positions to remove, distinct and in increasing order.
+     */
+    static <T> void removePositions(List<T> list, int[] positions) {
+        if (positions.length == 0) {
+            return;
+        }
+        int size = list.size();
+        int kept = positions[0];
+        int next = 0;
+        for (int read = positions[0]; read < size; read++) {
+            if (next < positions.length && positions[next] == read) {
+                next++;
+            } else {
+                list.set(kept++, list.get(read));
+            }
+        }
+        list.subList(kept, size).clear();
+    }
+
+    /**
+     * Removes the given positions from the first length elements of the array.
+     *
+     * @param array Array to remove from.
+     * @param length Number of elements in use.
+     * @param positions Positions to remove, distinct and in increasing order.
+     * @return Number of elements left in use.
+     */
+    static int removePositions(int[] array, int length, int[] positions) {
+        if (positions.length == 0) {
+            return length;
+        }
+        int kept = positions[0];
+        for (int i = 0; i < positions.length; i++) {
+            int end = i + 1 < positions.length ? positions[i + 1] : length;
+            int from = positions[i] + 1;
+            System.arraycopy(array, from, array, kept, end - from);
+            kept += end - from;
+        }
+        return kept;
+    }
+}
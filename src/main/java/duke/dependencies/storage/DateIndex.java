@@ -0,0 +1,104 @@
+package duke.dependencies.storage;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.TaskDate;
+
+/**
+ * Index of the tasks with a date, Events and Deadlines, ordered by their date. Tasks are known by their sequence
+ * number in the TaskList, and the tasks of each day are kept in the order they were added. Going through the tasks
+ * of a range of days costs O(log n) to find the first day, plus the tasks in the range.
+ */
+class DateIndex implements ListIndex {
+
+    /** Tasks of each day, by the day counted from 1970-01-01. */
+    private final TreeMap<Long, Postings> tasksOfDay = new TreeMap<>();
+
+    /**
+     * Indexes the given task, if it has a date.
+     *
+     * @param seq Sequence number of the task, greater than that of every task indexed before.
+     * @param task Task to be indexed.
+     */
+    @Override
+    public void add(int seq, Schedulable task) {
+        TaskDate date = task.getTaskDate();
+        if (date != null) {
+            tasksOfDay.computeIfAbsent(date.toEpochDay(), day -> new Postings()).append(seq);
+        }
+    }
+
+    /**
+     * Removes the given task from the index.
+     *
+     * @param seq Sequence number the task was indexed with.
+     * @param task Task to be removed.
+     */
+    @Override
+    public void remove(int seq, Schedulable task) {
+        TaskDate date = task.getTaskDate();
+        if (date == null) {
+            return;
+        }
+        Postings tasks = tasksOfDay.get(date.toEpochDay());
+        if (tasks != null && tasks.remove(seq) && tasks.size == 0) {
+            tasksOfDay.remove(date.toEpochDay());
+        }
+    }
+
+    /**
+     * Removes the given tasks from the index, going once through the tasks of each of their days however many of
+     * the tasks are on it.
+     *
+     * @param seqs Sequence numbers the tasks were indexed with, in increasing order.
+     * @param tasks Tasks to be removed, in the same order.
+     */
+    @Override
+    public void removeAll(int[] seqs, Schedulable[] tasks) {
+        // Tasks are gathered by day first, in increasing order as they are taken in that order.
+        TreeMap<Long, Postings> removedOfDay = new TreeMap<>();
+        for (int i = 0; i < seqs.length; i++) {
+            TaskDate date = tasks[i].getTaskDate();
+            if (date != null) {
+                removedOfDay.computeIfAbsent(date.toEpochDay(), day -> new Postings()).append(seqs[i]);
+            }
+        }
+        for (Map.Entry<Long, Postings> entry : removedOfDay.entrySet()) {
+            Postings left = tasksOfDay.get(entry.getKey());
+            Postings removed = entry.getValue();
+            if (left != null && left.removeAll(removed.seqs, removed.size) > 0 && left.size == 0) {
+                tasksOfDay.remove(entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        tasksOfDay.clear();
+    }
+
+    /**
+     * Passes the sequence numbers of the tasks dated within the given days to the visitor, ordered by date and then
+     * by the order they were added, until the visitor returns false.
+     *
+     * @param fromDay First day, inclusive.
+     * @param toDay Last day, inclusive.
+     * @param visitor Called with each sequence number. Returns whether to go on.
+     */
+    void forEachBetween(long fromDay, long toDay, IntPredicate visitor) {
+        if (fromDay > toDay) {
+            return;
+        }
+        for (Map.Entry<Long, Postings> day : tasksOfDay.subMap(fromDay, true, toDay, true).entrySet()) {
+            Postings tasks = day.getValue();
+            for (int i = 0; i < tasks.size; i++) {
+                if (!visitor.test(tasks.seqs[i])) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package duke.dependencies.storage;
+
+/**
+ * Decides when changes to the task list are written to the data file. Read from the system property
+ * {@code duke.durability}, which takes one of:
+ * <ul>
+ *     <li>{@code sync-every-op}: the list is saved before every command returns. This is the default.</li>
+ *     <li>{@code every-N-ms}, e.g. {@code every-200-ms}: changes are saved in the background at most N
+ *     milliseconds after they were made. All changes made within that time are saved together.</li>
+ *     <li>{@code on-shutdown}: the list is only saved when Duke is closed.</li>
+ * </ul>
+ */
+final class DurabilityPolicy {
+
+    static final String PROPERTY = "duke.durability";
+
+    private static final String SYNC_EVERY_OP = "sync-every-op";
+    private static final String ON_SHUTDOWN = "on-shutdown";
+    private static final String EVERY_PREFIX = "every-";
+    private static final String EVERY_SUFFIX = "-ms";
+
+    /** Delay before changes are saved, 0 to save them straight away, negative to save them on closing only. */
+    private final long delayMillis;
+
+    private DurabilityPolicy(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Returns the policy given in the system property, or sync-every-op if the property is not set or invalid.
+     *
+     * @return The policy to be used.
+     */
+    static DurabilityPolicy fromSystemProperty() {
+        return parse(System.getProperty(PROPERTY, SYNC_EVERY_OP));
+    }
+
+    /**
+     * Returns the policy described by the given string. Unknown policies fall back to sync-every-op.
+     *
+     * @param policy One of "sync-every-op", "every-N-ms" or "on-shutdown".
+     * @return The policy described.
+     */
+    static DurabilityPolicy parse(String policy) {
+        String p = policy.trim().toLowerCase();
+        if (p.equals(ON_SHUTDOWN)) {
+            return new DurabilityPolicy(-1);
+        }
+        if (p.startsWith(EVERY_PREFIX) && p.endsWith(EVERY_SUFFIX)) {
+            try {
+                long millis = Long.parseLong(p.substring(EVERY_PREFIX.length(), p.length() - EVERY_SUFFIX.length()));
+                if (millis > 0) {
+                    return new DurabilityPolicy(millis);
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to the default.
+            }
+        }
+        return new DurabilityPolicy(0);
+    }
+
+    boolean isSyncEveryOp() {
+        return delayMillis == 0;
+    }
+
+    boolean isOnShutdownOnly() {
+        return delayMillis < 0;
+    }
+
+    long getDelayMillis() {
+        return delayMillis;
+    }
+}
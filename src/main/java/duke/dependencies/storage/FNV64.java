@@ -6,7 +6,6 @@ package duke.dependencies.storage;
  */
 public class FNV64 {
 
-    // Unused class
     private static final long PRIME = 0x100000001b3L;
     private static final long OFFSET = 0xcbf29ce484222325L;
 
@@ -0,0 +1,152 @@
+package duke.dependencies.storage;
+
+import java.util.Arrays;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Ids of the tasks in the list, which stay the same however the tasks around them change. Each task is given its id
+ * by the TaskList when it is added, from a counter that only goes up, and keeps it when the list is loaded again, as
+ * it is saved along with the task. Tasks with the same content thus have ids of their own.
+ *
+ * Ids are mapped to the sequence numbers of their tasks by an open addressing hash table of primitive longs, so an
+ * id is found in O(1) without boxing.
+ */
+class IdIndex implements ListIndex {
+
+    /** Key of an empty slot. No task is given this id, which a task has until it is given one. */
+    private static final long EMPTY = 0;
+
+    private long[] ids = new long[64];
+    private int[] seqsOfIds = new int[64];
+    private int count = 0;
+
+    /** Id of the task with each sequence number, or EMPTY if it is not in the list. */
+    private long[] idsOfSeqs = new long[64];
+
+    /**
+     * Indexes the id of the given task. A task without an id is not indexed.
+     *
+     * @param seq Sequence number of the task.
+     * @param task Task to be indexed.
+     */
+    @Override
+    public void add(int seq, Schedulable task) {
+        long id = task.getId();
+        if (id == EMPTY) {
+            return;
+        }
+        if ((count + 1) * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        int slot = (int) mix(id) & (ids.length - 1);
+        while (ids[slot] != EMPTY) {
+            slot = (slot + 1) & (ids.length - 1);
+        }
+        ids[slot] = id;
+        seqsOfIds[slot] = seq;
+        count++;
+        if (seq >= idsOfSeqs.length) {
+            idsOfSeqs = Arrays.copyOf(idsOfSeqs, Math.max(seq + 1, idsOfSeqs.length * 2));
+        }
+        idsOfSeqs[seq] = id;
+    }
+
+    /**
+     * Removes the id of the given task.
+     *
+     * @param seq Sequence number of the task.
+     * @param task Task to be removed.
+     */
+    @Override
+    public void remove(int seq, Schedulable task) {
+        if (seq >= idsOfSeqs.length) {
+            return;
+        }
+        int slot = slotOf(idsOfSeqs[seq]);
+        idsOfSeqs[seq] = EMPTY;
+        if (slot < 0) {
+            return;
+        }
+        // Moves back the ids after the slot that would no longer be found past the gap it leaves.
+        int mask = ids.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; ids[next] != EMPTY; next = (next + 1) & mask) {
+            int home = (int) mix(ids[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                ids[gap] = ids[next];
+                seqsOfIds[gap] = seqsOfIds[next];
+                gap = next;
+            }
+        }
+        ids[gap] = EMPTY;
+        count--;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(ids, EMPTY);
+        Arrays.fill(idsOfSeqs, EMPTY);
+        count = 0;
+    }
+
+    /**
+     * Returns the sequence number of the task with the given id, or -1 if no task has it.
+     */
+    int seqOf(long id) {
+        int slot = slotOf(id);
+        return slot < 0 ? -1 : seqsOfIds[slot];
+    }
+
+    /**
+     * Returns the id of the task with the given sequence number, or 0 if it has none.
+     */
+    long idOf(int seq) {
+        return seq < idsOfSeqs.length ? idsOfSeqs[seq] : EMPTY;
+    }
+
+    private int slotOf(long id) {
+        if (id == EMPTY) {
+            return -1;
+        }
+        int mask = ids.length - 1;
+        for (int slot = (int) mix(id) & mask; ids[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        int[] oldSeqs = seqsOfIds;
+        ids = new long[capacity];
+        seqsOfIds = new int[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != EMPTY) {
+                int slot = (int) mix(oldIds[i]) & (capacity - 1);
+                while (ids[slot] != EMPTY) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                ids[slot] = oldIds[i];
+                seqsOfIds[slot] = oldSeqs[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of an id over its low bits, which choose its slot.
+     */
+    private static long mix(long id) {
+        return id ^ (id >>> 32) ^ (id >>> 17);
+    }
+
+    /**
+     * Returns the id in the form it is shown and typed in, a # followed by 16 hexadecimal digits.
+     */
+    static String format(long id) {
+        String hex = Long.toHexString(id);
+        return "#" + "0".repeat(16 - hex.length()) + hex;
+    }
+}
@@ -0,0 +1,350 @@
+package duke.dependencies.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import duke.dependencies.dukeexceptions.MissingListException;
+import duke.dependencies.metrics.Metrics;
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Saves the task list as a snapshot plus a log of the changes made since the snapshot was taken. Every change is
+ * appended to the log, so its cost does not depend on the size of the list. Once the log grows past a threshold,
+ * a new log is started and the list is written out as the new snapshot in the background. Should a change fail to
+ * be appended, nothing is logged after it; the list is written out as the snapshot at once instead.
+ *
+ * <p>Files kept in the data directory:</p>
+ * <ul>
+ *     <li>{@code taskdata.txt}: the snapshot, in the same format saved by {@link SnapshotPersistence}.</li>
+ *     <li>{@code taskdata.<g>.log}: the logs, replayed in order of generation g.</li>
+ *     <li>{@code taskdata.<g>.snap}: a snapshot being written that covers the logs up to generation g.</li>
+ * </ul>
+ *
+ * <p>Deleting the log of generation g is what commits the snapshot covering it. A {@code .snap} file found at
+ * startup is therefore moved into place if its log is gone, and thrown away otherwise.</p>
+ */
+class JournaledPersistence implements TaskPersistence {
+
+    /** Size of the log, in bytes, after which the list is written out as a new snapshot. */
+    private static final long COMPACTION_THRESHOLD = Long.getLong("duke.journal.threshold", 1 << 20);
+
+    private static final String PREFIX = "taskdata.";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final String dirName;
+    private final Path dirPath;
+    private final Storage snapshot;
+
+    /** Log that changes are appended to. */
+    private TaskJournal active;
+
+    /** Log covered by the snapshot being written in the background, null if there is none. */
+    private volatile TaskJournal compacting;
+
+    /** Set once a snapshot could not be written. The logs are then only folded in on the next start. */
+    private volatile boolean hasCompactionFailed = false;
+
+    /** Log that a change could not be appended to, until a snapshot covering it is written. */
+    private TaskJournal missingChange;
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "duke-journal-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    JournaledPersistence(String dirName, String snapshotName) {
+        this.dirName = dirName;
+        this.dirPath = Paths.get(".", dirName);
+        this.snapshot = new Storage(dirName, snapshotName);
+    }
+
+    @Override
+    public ArrayList<Schedulable> load() throws MissingListException {
+        ArrayList<Schedulable> tasks;
+        TreeSet<Long> logs;
+        try {
+            Files.createDirectories(dirPath);
+            logs = generationsOf(LOG_SUFFIX);
+            finishInterruptedCompactions(logs);
+            tasks = snapshot.isSavedFilePresent() ? snapshot.openAndReadTasks() : new ArrayList<>();
+
+            // Logs older than the newest one were being compacted when Duke stopped. Fold them in now.
+            while (logs.size() > 1) {
+                TaskJournal old = journalOf(logs.pollFirst());
+                old.replayInto(tasks);
+                commitSnapshot(old, new ArrayList<>(tasks));
+            }
+            active = journalOf(logs.isEmpty() ? 0 : logs.first());
+            active.replayInto(tasks);
+            active.open();
+        } catch (IOException | RuntimeException | MissingListException e) {
+            setAsideUnreadable();
+            throw new MissingListException("Error: Unable to load your saved list");
+        }
+        return tasks;
+    }
+
+    /**
+     * Deals with snapshots left behind by a compaction that was cut short.
+     */
+    private void finishInterruptedCompactions(TreeSet<Long> logs) throws IOException {
+        for (long generation : generationsOf(SNAPSHOT_SUFFIX)) {
+            Storage pending = snapshotOf(generation);
+            if (logs.contains(generation)) {
+                pending.delete();
+            } else {
+                pending.moveOnto(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Moves the saved list and its logs aside after they turned out to be unreadable, and starts an empty list with
+     * a new log. Nothing is deleted, so the list can still be recovered by hand.
+     *
+     * @throws IllegalStateException if the files could not be moved aside. Nothing is saved then, so that the
+     *     files left in place are not written over.
+     */
+    private void setAsideUnreadable() {
+        if (active != null) {
+            active.close();
+            active = null;
+        }
+        try {
+            List<Path> files = new ArrayList<>();
+            files.add(snapshot.getPath());
+            files.add(snapshot.getIndexPath());
+            for (long generation : generationsOf(LOG_SUFFIX)) {
+                files.add(dirPath.resolve(PREFIX + generation + LOG_SUFFIX));
+            }
+            for (long generation : generationsOf(SNAPSHOT_SUFFIX)) {
+                files.add(dirPath.resolve(PREFIX + generation + SNAPSHOT_SUFFIX));
+            }
+            UnreadableFiles.setAside(files);
+            active = journalOf(0);
+            active.open();
+        } catch (IOException e) {
+            Metrics.current().recordError();
+            throw new IllegalStateException("Unable to load your saved list, nor to move it aside, in " + dirPath, e);
+        }
+    }
+
+    @Override
+    public void onAdd(List<Schedulable> tasks, Schedulable added) {
+        log(tasks, journal -> journal.appendAdd(added));
+    }
+
+    @Override
+    public void onAddAll(List<Schedulable> tasks, List<Schedulable> added) {
+        log(tasks, journal -> journal.appendAddAll(added));
+    }
+
+    @Override
+    public void onDone(List<Schedulable> tasks, int[] indices) {
+        log(tasks, journal -> journal.appendDone(indices));
+    }
+
+    @Override
+    public void onDelete(List<Schedulable> tasks, int[] positions) {
+        log(tasks, journal -> journal.appendDelete(positions));
+    }
+
+    @Override
+    public void onClear(List<Schedulable> tasks) {
+        log(tasks, TaskJournal::appendClear);
+        // The list is empty, so writing the snapshot now costs nothing and lets the whole log go.
+        compact(tasks);
+    }
+
+    /**
+     * Appends a change to the log. Once a change could not be appended, nothing more is, as it would be replayed
+     * without the change before it: the list is written out whole as the snapshot covering that log instead.
+     */
+    private void log(List<Schedulable> tasks, Append append) {
+        if (missingChange == null) {
+            try {
+                append.to(active);
+                compactIfNeeded(tasks);
+                return;
+            } catch (IOException e) {
+                e.printStackTrace();
+                Metrics.current().recordError();
+                missingChange = active;
+            }
+        }
+        snapshotOverMissingChange(tasks);
+    }
+
+    /**
+     * Writes the list out as the snapshot covering the log missing a change, under a new log that changes are
+     * appended to again once it is written. It is tried again on every change until then. If an earlier snapshot
+     * could not be written, the logs are left to be folded in on the next start, without the change.
+     */
+    private void snapshotOverMissingChange(List<Schedulable> tasks) {
+        awaitCompaction();
+        if (hasCompactionFailed) {
+            return;
+        }
+        try {
+            if (active == missingChange) {
+                TaskJournal next = journalOf(active.getGeneration() + 1);
+                next.open();
+                active.close();
+                active = next;
+            }
+            commitSnapshot(missingChange, new ArrayList<>(tasks));
+            missingChange = null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+        }
+    }
+
+    /**
+     * Waits for the snapshot being written in the background, if any.
+     */
+    private void awaitCompaction() {
+        try {
+            compactor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the list out as a snapshot under a new log before anything else is logged. Until it is written, the
+     * tasks are loaded without ids again and given the same ids, which would no longer be so once tasks added later
+     * are logged with theirs.
+     */
+    @Override
+    public void onIdsGiven(List<Schedulable> tasks) {
+        TaskJournal next = journalOf(active.getGeneration() + 1);
+        try {
+            next.open();
+            TaskJournal old = active;
+            old.close();
+            active = next;
+            commitSnapshot(old, new ArrayList<>(tasks));
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+        }
+    }
+
+    private void compactIfNeeded(List<Schedulable> tasks) {
+        try {
+            if (active.size() > COMPACTION_THRESHOLD) {
+                compact(tasks);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+        }
+    }
+
+    /**
+     * Starts a new log and writes the list out as a snapshot in the background. Does nothing while an earlier
+     * snapshot is still being written.
+     */
+    private void compact(List<Schedulable> tasks) {
+        if (compacting != null || hasCompactionFailed || missingChange != null) {
+            return;
+        }
+        TaskJournal next = journalOf(active.getGeneration() + 1);
+        try {
+            next.open();
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+            return;
+        }
+        TaskJournal old = active;
+        old.close();
+        active = next;
+        compacting = old;
+
+        // Tasks are only changed after being added by completing them, which the log repeats harmlessly.
+        ArrayList<Schedulable> copy = new ArrayList<>(tasks);
+        compactor.execute(() -> {
+            try {
+                commitSnapshot(old, copy);
+                compacting = null;
+            } catch (IOException e) {
+                e.printStackTrace();
+                Metrics.current().recordError();
+                hasCompactionFailed = true;
+            }
+        });
+    }
+
+    /**
+     * Writes the given list as the snapshot covering the given log, then retires the log.
+     */
+    private void commitSnapshot(TaskJournal covered, ArrayList<Schedulable> tasks) throws IOException {
+        Storage pending = snapshotOf(covered.getGeneration());
+        pending.overwriteAndSaveTasksDurably(tasks);
+        covered.delete();
+        pending.moveOnto(snapshot);
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    private TaskJournal journalOf(long generation) {
+        return new TaskJournal(dirPath.resolve(PREFIX + generation + LOG_SUFFIX), generation);
+    }
+
+    private Storage snapshotOf(long generation) {
+        return new Storage(dirName, PREFIX + generation + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Returns the generations of all files in the data directory with the given suffix, in ascending order.
+     */
+    private TreeSet<Long> generationsOf(String suffix) throws IOException {
+        TreeSet<Long> generations = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dirPath, PREFIX + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String generation = name.substring(PREFIX.length(), name.length() - suffix.length());
+                try {
+                    generations.add(Long.parseLong(generation));
+                } catch (NumberFormatException e) {
+                    // Not one of ours.
+                }
+            }
+        }
+        return generations;
+    }
+
+    /**
+     * Appends a change to the given log.
+     */
+    private interface Append {
+        void to(TaskJournal journal) throws IOException;
+    }
+}
@@ -0,0 +1,43 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Index over the tasks of a TaskList, kept up to date as tasks are added and removed. Tasks are known by their
+ * sequence number, given out in increasing order as they are added.
+ */
+interface ListIndex {
+
+    /**
+     * Indexes the given task.
+     *
+     * @param seq Sequence number of the task, greater than that of every task indexed before.
+     * @param task Task to be indexed.
+     */
+    void add(int seq, Schedulable task);
+
+    /**
+     * Removes the given task from the index.
+     *
+     * @param seq Sequence number the task was indexed with.
+     * @param task Task to be removed, unchanged since it was indexed.
+     */
+    void remove(int seq, Schedulable task);
+
+    /**
+     * Removes the given tasks from the index, as a delete of several tasks does.
+     *
+     * @param seqs Sequence numbers the tasks were indexed with, in increasing order.
+     * @param tasks Tasks to be removed, unchanged since they were indexed, in the same order.
+     */
+    default void removeAll(int[] seqs, Schedulable[] tasks) {
+        for (int i = 0; i < seqs.length; i++) {
+            remove(seqs[i], tasks[i]);
+        }
+    }
+
+    /**
+     * Removes every task from the index.
+     */
+    void clear();
+}
@@ -0,0 +1,198 @@
+package duke.dependencies.storage;
+
+import java.util.Arrays;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Tasks shown or changed by a command, in the order they are shown, with the counts of the list they were taken from
+ * or left in. Nothing is rendered until {@link #appendTo(StringBuilder)} is called, so a caller that only needs the
+ * counts, the numbers or the ids of the tasks never pays for their text.
+ *
+ * Tasks are shared with the list and should not be changed.
+ */
+public final class ListedTasks {
+
+    /** Shown in place of the list when it has no tasks. */
+    public static final String NOTHING_LISTED = "Oops!!! Theres's nothing here!\nTry adding something to your list?";
+
+    /** Shown in place of the tasks found when none are. */
+    public static final String NOTHING_MATCHED = "Nothing in your list matches that.";
+
+    private final Schedulable[] tasks;
+
+    /** Number each task is shown with, or null if the tasks are shown without numbers. */
+    private final int[] numbers;
+
+    /** Id of each task, or null if the ids are not shown. */
+    private final long[] ids;
+
+    private final TaskStats stats;
+
+    /** Number of the page the tasks are on, starting from 1, or 0 if they are not a page of the list. */
+    private final int page;
+    private final int pageCount;
+
+    private ListedTasks(Schedulable[] tasks, int[] numbers, long[] ids, TaskStats stats, int page, int pageCount) {
+        this.tasks = tasks;
+        this.numbers = numbers;
+        this.ids = ids;
+        this.stats = stats;
+        this.page = page;
+        this.pageCount = pageCount;
+    }
+
+    /**
+     * Returns the given tasks, shown without numbers.
+     */
+    static ListedTasks unnumbered(Schedulable[] tasks, TaskStats stats) {
+        return new ListedTasks(tasks, null, null, stats, 0, 0);
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    public boolean isEmpty() {
+        return tasks.length == 0;
+    }
+
+    public Schedulable getTask(int i) {
+        return tasks[i];
+    }
+
+    /**
+     * Returns whether the tasks are shown with numbers.
+     */
+    public boolean isNumbered() {
+        return numbers != null;
+    }
+
+    /**
+     * Returns the number the i-th task is shown with. Tasks taken from the list in its order are numbered by their
+     * position in it, starting from 1, and tasks found by a search are numbered in the order they were found.
+     */
+    public int getNumber(int i) {
+        return numbers[i];
+    }
+
+    /**
+     * Returns whether the ids of the tasks are shown.
+     */
+    public boolean hasIds() {
+        return ids != null;
+    }
+
+    /**
+     * Returns the id of the i-th task, in the form it is shown and typed in.
+     */
+    public String getId(int i) {
+        return IdIndex.format(ids[i]);
+    }
+
+    /**
+     * Returns the counts of the list the tasks were taken from, or left in by the change that took them.
+     */
+    public TaskStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the number of the page the tasks are on, starting from 1, or 0 if they are not a page of the list.
+     */
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Appends a line for each task, "1. #id [ToDo][?] run", without the number or the id if they are not shown,
+     * and no newline character after the last line. A page is followed by a line telling which page it is.
+     */
+    public void appendTo(StringBuilder sb) {
+        for (int i = 0; i < tasks.length; i++) {
+            if (i > 0) {
+                sb.append("\n");
+            }
+            if (numbers != null) {
+                sb.append(numbers[i]).append(". ");
+            }
+            if (ids != null) {
+                sb.append(IdIndex.format(ids[i])).append(" ");
+            }
+            tasks[i].appendTo(sb);
+        }
+        if (page > 0) {
+            sb.append("\n").append("Page ").append(page).append(" of ").append(pageCount)
+                    .append(" (tasks ").append(numbers[0]).append("-").append(numbers[tasks.length - 1])
+                    .append(" of ").append(stats.getTotal()).append(")");
+        }
+    }
+
+    /**
+     * Returns the lines of {@link #appendTo(StringBuilder)}, or the given text if there are no tasks.
+     *
+     * @param ifEmpty Text shown if there are no tasks.
+     * @return The lines of the tasks.
+     */
+    public String render(String ifEmpty) {
+        if (tasks.length == 0) {
+            return ifEmpty;
+        }
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Collects the tasks to be listed, one at a time.
+     */
+    static final class Builder {
+        private Schedulable[] tasks = new Schedulable[16];
+        private int[] numbers = new int[16];
+        private long[] ids;
+        private int count = 0;
+
+        /**
+         * Starts a list of tasks, with their ids if asked for.
+         */
+        Builder(boolean isShowingIds) {
+            ids = isShowingIds ? new long[16] : null;
+        }
+
+        /**
+         * Adds a task with the given number and id. The id is ignored if ids are not shown.
+         */
+        void add(int number, Schedulable task, long id) {
+            if (count == tasks.length) {
+                tasks = Arrays.copyOf(tasks, count * 2);
+                numbers = Arrays.copyOf(numbers, count * 2);
+                if (ids != null) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+            }
+            tasks[count] = task;
+            numbers[count] = number;
+            if (ids != null) {
+                ids[count] = id;
+            }
+            count++;
+        }
+
+        int size() {
+            return count;
+        }
+
+        ListedTasks build(TaskStats stats) {
+            return buildPage(stats, 0, 0);
+        }
+
+        ListedTasks buildPage(TaskStats stats, int page, int pageCount) {
+            return new ListedTasks(Arrays.copyOf(tasks, count), Arrays.copyOf(numbers, count),
+                    ids == null ? null : Arrays.copyOf(ids, count), stats, page, pageCount);
+        }
+    }
+}
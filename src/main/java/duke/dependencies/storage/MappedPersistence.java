@@ -0,0 +1,399 @@
+package duke.dependencies.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import duke.dependencies.dukeexceptions.MissingListException;
+import duke.dependencies.metrics.Metrics;
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskDate;
+
+/**
+ * Saves the task list in two files: a memory-mapped file of fixed-width slots, one per task, and a heap file
+ * holding the rest of each task. Completing or deleting a task only writes the state byte of its slot in place,
+ * and adding a task appends to both files, so no change costs more as the list grows.
+ *
+ * <pre>
+ *     taskdata.slots:    [int magic][byte version][3 bytes unused][int heap generation][int slots used][slot]...
+ *     slot:              [byte state][byte type][2 bytes unused][int epoch day][long offset into the heap]
+ *     taskdata.<g>.heap: ([int length][task record of TaskCodec])...
+ * </pre>
+ *
+ * Deleted tasks keep their slot, marked as deleted, until the next start finds more deleted slots than live ones
+ * and writes both files out afresh under a new heap generation. The slot file names the heap it belongs to and is
+ * replaced in one step, so a rewrite cut short leaves the previous files in use.
+ *
+ * Changes are left to the operating system to write back, unless Duke is run with
+ * {@code -Dduke.mapped.force=true}, in which case every change is forced onto the disk.
+ */
+class MappedPersistence implements TaskPersistence {
+
+    private static final boolean IS_FORCED = Boolean.getBoolean("duke.mapped.force");
+
+    /** "DUKS" in ASCII. */
+    private static final int MAGIC = 0x44554B53;
+    private static final byte VERSION = 1;
+    private static final int GENERATION_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int HEADER_SIZE = 16;
+
+    private static final int SLOT_SIZE = 16;
+    private static final int TYPE_OFFSET = 1;
+    private static final int EPOCH_DAY_OFFSET = 4;
+    private static final int HEAP_OFFSET = 8;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte UNFINISHED = 0;
+    private static final byte COMPLETED = 1;
+    private static final byte DELETED = 2;
+
+    private static final String PREFIX = "taskdata.";
+    private static final String HEAP_SUFFIX = ".heap";
+
+    private final Path dirPath;
+    private final Path slotsPath;
+
+    /** Data file of the other modes, read once when the slot file does not exist yet. */
+    private final Storage previousData;
+
+    private FileChannel slotsChannel;
+    private MappedByteBuffer slots;
+    private int capacity;
+    private int slotsUsed;
+    private FileChannel heap;
+
+    /** Slot of the task at each position of the list. */
+    private int[] liveSlots = new int[0];
+    private int liveCount;
+
+    MappedPersistence(String dirName, String previousDataName) {
+        this.dirPath = Paths.get(".", dirName);
+        this.slotsPath = dirPath.resolve(PREFIX + "slots");
+        this.previousData = new Storage(dirName, previousDataName);
+    }
+
+    @Override
+    public ArrayList<Schedulable> load() throws MissingListException {
+        int generation = 0;
+        boolean isMigrating = !Files.exists(slotsPath);
+        try {
+            Files.createDirectories(dirPath);
+            if (isMigrating) {
+                ArrayList<Schedulable> tasks = previousData.isSavedFilePresent()
+                        ? previousData.openAndReadTasks()
+                        : new ArrayList<>();
+                rewrite(tasks, generation);
+                return tasks;
+            }
+
+            // Read through plain channels, so that the files can still be replaced before they are mapped.
+            ByteBuffer slotBytes = ByteBuffer.wrap(Files.readAllBytes(slotsPath));
+            if (slotBytes.getInt(0) != MAGIC || slotBytes.get(Integer.BYTES) != VERSION) {
+                throw new IOException("Not a task slot file");
+            }
+            generation = slotBytes.getInt(GENERATION_OFFSET);
+            int used = slotBytes.getInt(COUNT_OFFSET);
+            ByteBuffer heapBytes = ByteBuffer.wrap(Files.readAllBytes(heapPathOf(generation)));
+            Metrics.recordBytesRead(slotBytes.capacity() + heapBytes.capacity());
+            ArrayList<Schedulable> tasks = new ArrayList<>(used);
+            for (int slot = 0; slot < used; slot++) {
+                int base = slotBase(slot);
+                byte state = slotBytes.get(base);
+                if (state == DELETED) {
+                    continue;
+                }
+                heapBytes.position(Math.toIntExact(slotBytes.getLong(base + HEAP_OFFSET)) + Integer.BYTES);
+                Task task = TaskCodec.decode(heapBytes);
+                if (state == COMPLETED) {
+                    task.completed();
+                }
+                tasks.add(task);
+            }
+
+            if (used > INITIAL_CAPACITY && used - tasks.size() > tasks.size()) {
+                rewrite(tasks, generation + 1);
+            } else {
+                open();
+                liveSlots = new int[Math.max(tasks.size(), 16)];
+                liveCount = 0;
+                for (int slot = 0; slot < used; slot++) {
+                    if (slots.get(slotBase(slot)) != DELETED) {
+                        liveSlots[liveCount++] = slot;
+                    }
+                }
+                deleteUnusedHeaps(generation);
+            }
+            return tasks;
+        } catch (IOException | RuntimeException | MissingListException e) {
+            setAsideUnreadable(isMigrating);
+            throw new MissingListException("Error: Unable to load your saved list");
+        }
+    }
+
+    /**
+     * Moves the slot file and every heap aside after they turned out to be unreadable, and starts an empty list in
+     * new files. Nothing is deleted, so the list can still be recovered by hand.
+     *
+     * @param isMigrating Whether the list was being read from the data file of the other modes, which is then moved
+     *     aside as well.
+     * @throws IllegalStateException if the files could not be moved aside. Nothing is saved then, so that the
+     *     files left in place are not written over.
+     */
+    private void setAsideUnreadable(boolean isMigrating) {
+        close();
+        try {
+            List<Path> files = new ArrayList<>();
+            files.add(slotsPath);
+            try (DirectoryStream<Path> heaps = Files.newDirectoryStream(dirPath, PREFIX + "*" + HEAP_SUFFIX)) {
+                heaps.forEach(files::add);
+            }
+            if (isMigrating) {
+                files.add(previousData.getPath());
+                files.add(previousData.getIndexPath());
+            }
+            UnreadableFiles.setAside(files);
+            rewrite(new ArrayList<>(), 0);
+        } catch (IOException e) {
+            Metrics.current().recordError();
+            throw new IllegalStateException("Unable to load your saved list, nor to move it aside, in " + dirPath, e);
+        }
+    }
+
+    /**
+     * Writes the given list out as a new heap of the given generation and a new slot file, then maps them.
+     */
+    private void rewrite(List<Schedulable> tasks, int generation) throws IOException {
+        close();
+        Files.createDirectories(dirPath);
+        capacity = INITIAL_CAPACITY;
+        while (capacity < tasks.size() * 2) {
+            capacity *= 2;
+        }
+        ByteBuffer slotBytes = ByteBuffer.allocate(HEADER_SIZE + capacity * SLOT_SIZE);
+        slotBytes.putInt(MAGIC).put(VERSION).position(GENERATION_OFFSET);
+        slotBytes.putInt(generation).putInt(tasks.size());
+
+        try (FileChannel heapOut = FileChannel.open(heapPathOf(generation), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = 0;
+            for (Schedulable task : tasks) {
+                putSlot(slotBytes, slotBytes.position(), task, offset);
+                offset += writeHeapEntry(heapOut, offset, task);
+            }
+            heapOut.force(false);
+        }
+
+        Path tmp = slotsPath.resolveSibling(slotsPath.getFileName() + ".tmp");
+        try (FileChannel slotsOut = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            slotBytes.clear();
+            while (slotBytes.hasRemaining()) {
+                slotsOut.write(slotBytes);
+            }
+            slotsOut.force(false);
+        }
+        Files.move(tmp, slotsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deleteUnusedHeaps(generation);
+
+        open();
+        liveSlots = new int[Math.max(tasks.size(), 16)];
+        for (liveCount = 0; liveCount < tasks.size(); liveCount++) {
+            liveSlots[liveCount] = liveCount;
+        }
+    }
+
+    /**
+     * Puts the slot of the given task at the buffer's position and moves past it.
+     */
+    private static void putSlot(ByteBuffer buffer, int base, Schedulable task, long heapOffset) {
+        TaskDate date = task.getTaskDate();
+        buffer.put(base, task.isCompleted() ? COMPLETED : UNFINISHED)
+                .put(base + TYPE_OFFSET, (byte) task.getType().ordinal())
+                .putInt(base + EPOCH_DAY_OFFSET, date == null ? 0 : Math.toIntExact(date.toEpochDay()))
+                .putLong(base + HEAP_OFFSET, heapOffset)
+                .position(base + SLOT_SIZE);
+    }
+
+    /**
+     * Writes the heap entry of the given task at the given offset and returns its size.
+     */
+    private static int writeHeapEntry(FileChannel channel, long offset, Schedulable task) throws IOException {
+        byte[] record = TaskCodec.encode(task);
+        ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + record.length);
+        entry.putInt(record.length).put(record).flip();
+        long position = offset;
+        while (entry.hasRemaining()) {
+            position += channel.write(entry, position);
+        }
+        return entry.capacity();
+    }
+
+    private void open() throws IOException {
+        slotsChannel = FileChannel.open(slotsPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        slots = slotsChannel.map(FileChannel.MapMode.READ_WRITE, 0, slotsChannel.size());
+        if (slots.getInt(0) != MAGIC || slots.get(Integer.BYTES) != VERSION) {
+            throw new IOException("Not a task slot file");
+        }
+        capacity = (slots.capacity() - HEADER_SIZE) / SLOT_SIZE;
+        slotsUsed = slots.getInt(COUNT_OFFSET);
+        heap = FileChannel.open(heapPathOf(slots.getInt(GENERATION_OFFSET)), StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public void onAdd(List<Schedulable> tasks, Schedulable added) {
+        onAddAll(tasks, List.of(added));
+    }
+
+    @Override
+    public void onAddAll(List<Schedulable> tasks, List<Schedulable> added) {
+        try {
+            if (slotsUsed + added.size() > capacity) {
+                while (slotsUsed + added.size() > capacity) {
+                    capacity *= 2;
+                }
+                slots = slotsChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_SIZE + (long) capacity * SLOT_SIZE);
+            }
+            if (liveCount + added.size() > liveSlots.length) {
+                liveSlots = Arrays.copyOf(liveSlots, Math.max(liveCount * 2, liveCount + added.size()));
+            }
+            long heapStart = heap.size();
+            long offset = heapStart;
+            int slot = slotsUsed;
+            int live = liveCount;
+            for (Schedulable task : added) {
+                putSlot(slots, slotBase(slot), task, offset);
+                offset += writeHeapEntry(heap, offset, task);
+                liveSlots[live++] = slot++;
+            }
+            if (IS_FORCED) {
+                heap.force(false);
+            }
+            // The slots only count once the number of slots used covers them, so they are all added at once.
+            Metrics.recordBytesWritten((long) (slot - slotsUsed) * SLOT_SIZE + offset - heapStart
+                    + Integer.BYTES);
+            slotsUsed = slot;
+            liveCount = live;
+            slots.putInt(COUNT_OFFSET, slotsUsed);
+            forceIfNeeded();
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+            // Slots past the number used are never read, so the tasks are left out of the file. Later changes are
+            // made at positions counting them, so the list is written out whole instead.
+            rewriteWhole(tasks);
+        }
+    }
+
+    @Override
+    public void onDone(List<Schedulable> tasks, int[] indices) {
+        for (int index : indices) {
+            slots.put(slotBase(liveSlots[index]), COMPLETED);
+        }
+        Metrics.recordBytesWritten(indices.length);
+        forceIfNeeded();
+    }
+
+    @Override
+    public void onDelete(List<Schedulable> tasks, int[] positions) {
+        for (int position : positions) {
+            slots.put(slotBase(liveSlots[position]), DELETED);
+        }
+        Metrics.recordBytesWritten(positions.length);
+        liveCount = Compaction.removePositions(liveSlots, liveCount, positions);
+        forceIfNeeded();
+    }
+
+    @Override
+    public void onClear(List<Schedulable> tasks) {
+        slotsUsed = 0;
+        liveCount = 0;
+        slots.putInt(COUNT_OFFSET, 0);
+        forceIfNeeded();
+        try {
+            heap.truncate(0);
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+        }
+    }
+
+    @Override
+    public void onIdsGiven(List<Schedulable> tasks) {
+        rewriteWhole(tasks);
+    }
+
+    /**
+     * Writes the given list out as the next generation.
+     */
+    private void rewriteWhole(List<Schedulable> tasks) {
+        try {
+            rewrite(tasks, slots.getInt(GENERATION_OFFSET) + 1);
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+        }
+    }
+
+    private void forceIfNeeded() {
+        if (IS_FORCED) {
+            slots.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (slots != null) {
+                slots.force();
+                slots = null;
+            }
+            if (slotsChannel != null) {
+                slotsChannel.close();
+                slotsChannel = null;
+            }
+            if (heap != null) {
+                heap.force(false);
+                heap.close();
+                heap = null;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+        }
+    }
+
+    private static int slotBase(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private Path heapPathOf(int generation) {
+        return dirPath.resolve(PREFIX + generation + HEAP_SUFFIX);
+    }
+
+    /**
+     * Deletes heaps of every generation other than the one given, left behind by earlier rewrites.
+     */
+    private void deleteUnusedHeaps(int generationInUse) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dirPath, PREFIX + "*" + HEAP_SUFFIX)) {
+            for (Path file : files) {
+                if (!file.equals(heapPathOf(generationInUse))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
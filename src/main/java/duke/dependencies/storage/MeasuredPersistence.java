@@ -0,0 +1,73 @@
+package duke.dependencies.storage;
+
+import java.util.List;
+
+import duke.dependencies.dukeexceptions.MissingListException;
+import duke.dependencies.metrics.DukeEvent;
+import duke.dependencies.metrics.Metrics;
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Records how long another way of saving the list takes to record each change, in the {@link Metrics} of the
+ * command making the change, and in a {@link DukeEvent.Persist} when Java Flight Recorder records it. Only the time
+ * spent on the thread making the change is measured, so a save left to a background thread counts for the time
+ * taken to hand it over.
+ */
+class MeasuredPersistence implements TaskPersistence {
+
+    private final TaskPersistence measured;
+
+    MeasuredPersistence(TaskPersistence measured) {
+        this.measured = measured;
+    }
+
+    @Override
+    public List<Schedulable> load() throws MissingListException {
+        return measured.load();
+    }
+
+    @Override
+    public void onAdd(List<Schedulable> tasks, Schedulable added) {
+        measure("add", tasks, () -> measured.onAdd(tasks, added));
+    }
+
+    @Override
+    public void onAddAll(List<Schedulable> tasks, List<Schedulable> added) {
+        measure("add all", tasks, () -> measured.onAddAll(tasks, added));
+    }
+
+    @Override
+    public void onDone(List<Schedulable> tasks, int[] indices) {
+        measure("done", tasks, () -> measured.onDone(tasks, indices));
+    }
+
+    @Override
+    public void onDelete(List<Schedulable> tasks, int[] positions) {
+        measure("delete", tasks, () -> measured.onDelete(tasks, positions));
+    }
+
+    @Override
+    public void onClear(List<Schedulable> tasks) {
+        measure("clear", tasks, () -> measured.onClear(tasks));
+    }
+
+    @Override
+    public void onIdsGiven(List<Schedulable> tasks) {
+        measure("give ids", tasks, () -> measured.onIdsGiven(tasks));
+    }
+
+    private static void measure(String change, List<Schedulable> tasks, Runnable save) {
+        DukeEvent event = new DukeEvent.Persist(change);
+        long bytesBefore = Metrics.bytesMovedByThisThread();
+        event.begin();
+        long start = System.nanoTime();
+        save.run();
+        Metrics.current().recordPersist(System.nanoTime() - start);
+        event.end(Metrics.currentType(), tasks.size(), Metrics.bytesMovedByThisThread() - bytesBefore);
+    }
+
+    @Override
+    public void close() {
+        measured.close();
+    }
+}
@@ -0,0 +1,149 @@
+package duke.dependencies.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Read-only list of tasks read from a file written by {@link TaskCodec} only as they are asked for. Opening the list
+ * reads nothing but the {@link TaskIndex} of the file, which gives the size of the list and where each task is found.
+ * Tasks are then read a page of consecutive records at a time, and the most recently used ones are kept in a cache
+ * of bounded size.
+ *
+ * Only the list loaded at startup is kept this way, as the base of every version of the TaskList; tasks added or
+ * changed after that are kept by the versions, so the file and this list never change. A task read may be dropped
+ * from the cache and read again, and should not be changed.
+ *
+ * Reading a task holds the lock of the list, as readers of every version share the cache.
+ */
+class PagedTaskList extends AbstractList<Schedulable> {
+
+    /** Number of consecutive records read at once. */
+    private static final int PAGE_SIZE = 256;
+
+    private final FileChannel data;
+    private final TaskIndex index;
+    private final Map<Integer, Schedulable> cache;
+
+    private PagedTaskList(FileChannel data, TaskIndex index, int cacheSize) {
+        this.data = data;
+        this.index = index;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Schedulable> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Opens the list saved in the given file.
+     *
+     * @param dataPath Path of the file written by {@link TaskCodec}.
+     * @param index Index of the file.
+     * @param cacheSize Maximum number of tasks read from the file to keep in memory.
+     * @return The list, with nothing read yet.
+     * @throws IOException if the file does not hold the list described by the index.
+     */
+    static PagedTaskList open(Path dataPath, TaskIndex index, int cacheSize) throws IOException {
+        FileChannel data = FileChannel.open(dataPath, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TaskCodec.HEADER_SIZE);
+            readFully(data, header, 0);
+            if (header.getInt() != TaskCodec.MAGIC || header.get() != TaskCodec.VERSION
+                    || header.getInt() != index.size()) {
+                throw new IOException("Index does not match the task list file");
+            }
+            return new PagedTaskList(data, index, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized Schedulable get(int position) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size());
+        }
+        Schedulable task = cache.get(position);
+        if (task == null) {
+            task = pageIn(position);
+        }
+        return task;
+    }
+
+    /**
+     * Reads the page of records starting at the given record into the cache and returns the task of that record.
+     */
+    private Schedulable pageIn(int record) {
+        int last = Math.min(record + PAGE_SIZE, index.size()) - 1;
+        long start = index.startOf(record);
+        ByteBuffer page = ByteBuffer.allocate(Math.toIntExact(index.endOf(last) - start));
+        try {
+            readFully(data, page, start);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the saved list", e);
+        }
+        Schedulable first = TaskCodec.decodeEntry(page);
+        cache.put(record, first);
+        for (int r = record + 1; r <= last; r++) {
+            cache.putIfAbsent(r, TaskCodec.decodeEntry(page));
+        }
+        return first;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Task list file is cut short");
+            }
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the counts of the tasks in the file, read from its index.
+     */
+    TaskStats getSavedStats() {
+        return index.getStats();
+    }
+
+    /**
+     * Returns the id after the largest id of the tasks in the file, read from its index.
+     */
+    long getSavedNextId() {
+        return index.getNextId();
+    }
+
+    /**
+     * Returns whether some of the tasks in the file were saved without an id, read from its index.
+     */
+    boolean isMissingIds() {
+        return index.isMissingIds();
+    }
+
+    /**
+     * Releases the file. The list should not be used afterwards.
+     */
+    synchronized void close() {
+        try {
+            data.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package duke.dependencies.storage;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of numbers, of tasks or of words, kept in a primitive array. Numbers are only ever appended in
+ * increasing order, so the list stays sorted without being sorted.
+ */
+class Postings {
+    int[] seqs = new int[4];
+    int size;
+
+    /**
+     * Appends the given number, which should not be less than the last one. A number equal to the last one is only
+     * recorded once.
+     */
+    void append(int seq) {
+        if (size > 0 && seqs[size - 1] == seq) {
+            return;
+        }
+        if (size == seqs.length) {
+            seqs = Arrays.copyOf(seqs, size * 2);
+        }
+        seqs[size++] = seq;
+    }
+
+    /**
+     * Removes the given number, returning whether it was in the list.
+     */
+    boolean remove(int seq) {
+        int i = Arrays.binarySearch(seqs, 0, size, seq);
+        if (i < 0) {
+            return false;
+        }
+        System.arraycopy(seqs, i + 1, seqs, i, size - i - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes the given numbers in a single pass over the list, whatever their count.
+     *
+     * @param sorted Numbers to be removed, in increasing order.
+     * @param count Number of numbers at the start of the array to be removed.
+     * @return Number of them that were in the list.
+     */
+    int removeAll(int[] sorted, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int first = Arrays.binarySearch(seqs, 0, size, sorted[0]);
+        int kept = first < 0 ? -first - 1 : first;
+        int j = 0;
+        for (int i = kept; i < size; i++) {
+            int seq = seqs[i];
+            while (j < count && sorted[j] < seq) {
+                j++;
+            }
+            if (j < count && sorted[j] == seq) {
+                j++;
+                continue;
+            }
+            seqs[kept++] = seq;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+}
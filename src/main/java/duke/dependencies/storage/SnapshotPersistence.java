@@ -0,0 +1,90 @@
+package duke.dependencies.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.dependencies.dukeexceptions.MissingListException;
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Saves the whole task list into the data file on every change. This is the default way the task list is saved.
+ *
+ * When Duke is run with {@code -Dduke.load=lazy}, the saved list is not read at startup but paged in as it is used,
+ * keeping at most {@code duke.load.cacheSize} tasks read from the file in memory (4096 by default).
+ */
+class SnapshotPersistence implements TaskPersistence {
+
+    private static final boolean IS_LAZY = "lazy".equalsIgnoreCase(System.getProperty("duke.load"));
+    private static final int CACHE_SIZE = Integer.getInteger("duke.load.cacheSize", 4096);
+
+    /** Loader Object to read and write to save file. */
+    protected final Storage l;
+
+    /** List loaded, kept to release its file once closed. */
+    private List<Schedulable> loaded;
+
+    SnapshotPersistence(Storage storage) {
+        this.l = storage;
+        l.keepIndex();
+    }
+
+    @Override
+    public List<Schedulable> load() throws MissingListException {
+        // Checks if there are any save files of todoList.
+        // If there is, attempt to read the object as arraylist, or page it in.
+        // If there is none, instantiates the file.
+        if (l.isSavedFilePresent()) {
+            loaded = IS_LAZY ? l.openAndPageTasks(CACHE_SIZE) : l.openAndReadTasks();
+            return loaded;
+        } else {
+            l.instantiateFile();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Saves the whole list. Called after every change.
+     *
+     * @param tasks The list after the change.
+     */
+    protected void save(List<Schedulable> tasks) {
+        l.overwriteAndSaveTasks(tasks);
+    }
+
+    @Override
+    public void onAdd(List<Schedulable> tasks, Schedulable added) {
+        save(tasks);
+    }
+
+    @Override
+    public void onAddAll(List<Schedulable> tasks, List<Schedulable> added) {
+        save(tasks);
+    }
+
+    @Override
+    public void onDone(List<Schedulable> tasks, int[] indices) {
+        save(tasks);
+    }
+
+    @Override
+    public void onDelete(List<Schedulable> tasks, int[] positions) {
+        save(tasks);
+    }
+
+    @Override
+    public void onClear(List<Schedulable> tasks) {
+        save(tasks);
+    }
+
+    @Override
+    public void onIdsGiven(List<Schedulable> tasks) {
+        save(tasks);
+    }
+
+    @Override
+    public void close() {
+        if (loaded instanceof PagedTaskList) {
+            ((PagedTaskList) loaded).close();
+        }
+    }
+}
@@ -6,19 +6,30 @@ import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
 import duke.dependencies.dukeexceptions.MissingListException;
 
+import duke.dependencies.metrics.DukeEvent;
+import duke.dependencies.metrics.Metrics;
 import duke.dependencies.parser.Parser;
+import duke.dependencies.task.Schedulable;
 
 /**
  * Utility lass to handle the reading and writing to files.
- * Data read and written are objects implementating Serializable interface.
+ * Data read and written are objects implementating Serializable interface, or task lists in the binary format
+ * of {@link TaskCodec}.
  *
  *
  * Errors and exceptions thrown during the reading and writing is handled here.
@@ -31,14 +42,21 @@ public class Storage {
     private final Path FILE_PATH;
     private final static Path CURRENT_DIR_PATH = Paths.get(".");
 
+    /** Name of the file, as given to the {@link DukeEvent.Storage} events around reading and writing it. */
+    private final String fileName;
+
     private boolean isContentStringalizable;
 
+    /** Whether a {@link TaskIndex} is saved next to the file whenever a list of tasks is saved. */
+    private boolean isIndexed = false;
+
     /**
      * Constructor for the storage class to read and write to files.
      */
     public Storage(String dirName, String fileName) {
         DIR_PATH = Paths.get(".", dirName);
         FILE_PATH = DIR_PATH.resolve(fileName);
+        this.fileName = fileName;
         isContentStringalizable = Parser.checkForWord(fileName, ".dat");
     }
 
@@ -83,14 +101,205 @@ public class Storage {
      * @param <T> type of the object given
      */
     public <T> void overwriteAndSave(T t) {
+        DukeEvent event = new DukeEvent.Storage("write", fileName);
+        event.begin();
+        long bytes = 0;
         try {
             FileOutputStream fos = new FileOutputStream(FILE_PATH.toString(), false);
             ObjectOutputStream oos = new ObjectOutputStream(fos);
             oos.writeObject(t);
+            oos.flush();
+            bytes = fos.getChannel().position();
             oos.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
+        event.end(Metrics.currentType(), sizeOf(t), bytes);
+    }
+
+    /**
+     * Returns the number of tasks in the given object if it is a list of them, or 0 if it is not.
+     */
+    private static int sizeOf(Object o) {
+        return o instanceof List ? ((List<?>) o).size() : 0;
+    }
+
+    /**
+     * Saves the given list of tasks in the binary format of {@link TaskCodec}. Overwrites the file.
+     * The list is written to a temporary file first, which then replaces the file, so a failed save leaves the
+     * previous list intact.
+     *
+     * @param tasks the list to overwrite with
+     */
+    public void overwriteAndSaveTasks(List<? extends Schedulable> tasks) {
+        try {
+            writeTasks(tasks, false);
+        } catch (IOException e) {
+            e.printStackTrace();
+            Metrics.current().recordError();
+        }
+    }
+
+    /**
+     * Saves the given list of tasks like {@link #overwriteAndSaveTasks(List)}, but forces it onto the disk before
+     * returning. Failures are passed on to the caller, which has to know whether the list was saved.
+     *
+     * @param tasks the list to overwrite with
+     * @throws IOException if the list could not be saved.
+     */
+    public void overwriteAndSaveTasksDurably(List<? extends Schedulable> tasks) throws IOException {
+        writeTasks(tasks, true);
+    }
+
+    private void writeTasks(List<? extends Schedulable> tasks, boolean isDurable) throws IOException {
+        DukeEvent event = new DukeEvent.Storage("write", fileName);
+        event.begin();
+        long bytes = 0;
+        try {
+            bytes = writeTasksUnmeasured(tasks, isDurable);
+        } finally {
+            event.end(Metrics.currentType(), tasks.size(), bytes);
+        }
+    }
+
+    /**
+     * Writes the given tasks as {@link #writeTasks(List, boolean)} does.
+     *
+     * @return Number of bytes the list takes in the file.
+     */
+    private long writeTasksUnmeasured(List<? extends Schedulable> tasks, boolean isDurable) throws IOException {
+        long bytes;
+        Files.createDirectories(DIR_PATH);
+        Path tmp = FILE_PATH.resolveSibling(FILE_PATH.getFileName() + ".tmp");
+        TaskIndex index = isIndexed ? new TaskIndex() : null;
+        try (FileChannel fc = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            TaskCodec.write(tasks, fc, index);
+            bytes = fc.position();
+            Metrics.recordBytesWritten(bytes);
+            if (isDurable) {
+                fc.force(false);
+            }
+        }
+        Files.move(tmp, FILE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (index != null) {
+            try {
+                index.writeTo(indexPath(), FILE_PATH);
+            } catch (IOException e) {
+                // The list is saved; it is only read whole on the next start.
+                e.printStackTrace();
+                Files.deleteIfExists(indexPath());
+            }
+        }
+        return bytes;
+    }
+
+    private Path indexPath() {
+        return FILE_PATH.resolveSibling(FILE_PATH.getFileName() + ".idx");
+    }
+
+    /**
+     * Saves an index next to the file whenever a list of tasks is saved from now on, so that the list can be
+     * opened with {@link #openAndPageTasks(int)}.
+     */
+    public void keepIndex() {
+        isIndexed = true;
+    }
+
+    /**
+     * Returns the list of tasks stored in the data file, reading tasks only as they are asked for. Only the index
+     * saved next to the file is read now. Without a usable index the list is read whole, and saved again so that it
+     * is indexed on the next start.
+     *
+     * @param cacheSize Maximum number of tasks read from the file to keep in memory.
+     * @return The list stored in the file.
+     * @throws MissingListException if the file is not found or cannot be read.
+     */
+    public List<Schedulable> openAndPageTasks(int cacheSize) throws MissingListException {
+        boolean isSerialized = isInSerializedFormat();
+        TaskIndex index = isSerialized ? null : TaskIndex.readFrom(indexPath(), FILE_PATH);
+        if (index != null) {
+            try {
+                return PagedTaskList.open(FILE_PATH, index, cacheSize);
+            } catch (IOException | RuntimeException e) {
+                // Read the list whole instead.
+            }
+        }
+        ArrayList<Schedulable> tasks = openAndReadTasks();
+        // Files in the old format are already saved again once read.
+        if (isIndexed && !isSerialized) {
+            overwriteAndSaveTasks(tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the list of tasks stored in the data file. Files saved by older versions of Duke with Java
+     * serialization are read as well, and are rewritten in the binary format once read.
+     *
+     * @return The list stored in the file.
+     * @throws MissingListException if the file is not found or cannot be read.
+     */
+    public ArrayList<Schedulable> openAndReadTasks() throws MissingListException {
+        if (isInSerializedFormat()) {
+            ArrayList<Schedulable> tasks = openAndReadObject();
+            overwriteAndSaveTasks(tasks);
+            return tasks;
+        }
+        DukeEvent event = new DukeEvent.Storage("read", fileName);
+        event.begin();
+        try (FileChannel fc = FileChannel.open(FILE_PATH, StandardOpenOption.READ)) {
+            ArrayList<Schedulable> tasks = TaskCodec.read(fc);
+            Metrics.recordBytesRead(fc.size());
+            event.end(Metrics.currentType(), tasks.size(), fc.size());
+            return tasks;
+        } catch (IOException | RuntimeException e) {
+            throw new MissingListException("Error: Unable to load your saved list");
+        }
+    }
+
+    /**
+     * Returns whether the file was written with Java serialization, which starts with the bytes 0xACED.
+     */
+    private boolean isInSerializedFormat() {
+        try (DataInputStream dis = new DataInputStream(new FileInputStream(FILE_PATH.toString()))) {
+            return dis.readShort() == ObjectStreamConstants.STREAM_MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Moves the file onto the file of the given storage in one step, replacing it.
+     *
+     * @param target Storage whose file is replaced.
+     * @throws IOException if the file could not be moved.
+     */
+    public void moveOnto(Storage target) throws IOException {
+        Files.move(FILE_PATH, target.FILE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Deletes the file. Does nothing if the file is not present.
+     *
+     * @throws IOException if the file could not be deleted.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(FILE_PATH);
+    }
+
+    /**
+     * Returns the path of the file.
+     */
+    Path getPath() {
+        return FILE_PATH;
+    }
+
+    /**
+     * Returns the path of the index saved next to the file, whether or not there is one.
+     */
+    Path getIndexPath() {
+        return indexPath();
     }
 
     /**
@@ -102,15 +311,31 @@ public class Storage {
      */
     @SuppressWarnings("unchecked")
     public <T> T openAndReadObject() throws MissingListException {
-        try {
-            FileInputStream fis = new FileInputStream(FILE_PATH.toString());
-            ObjectInputStream ois = new ObjectInputStream(fis);
-            return (T) ois.readObject();
+        DukeEvent event = new DukeEvent.Storage("read", fileName);
+        event.begin();
+        try (FileInputStream fis = new FileInputStream(FILE_PATH.toString())) {
+            T t = (T) readSerialized(fis);
+            long bytes = fis.getChannel().size();
+            Metrics.recordBytesRead(bytes);
+            event.end(Metrics.currentType(), sizeOf(t), bytes);
+            return t;
         } catch (Exception e) {
             throw new MissingListException("Error: Unable to load your saved list");
         }
     }
 
+    /**
+     * Reads an object written with Java serialization, such as a list saved by the first versions of Duke.
+     *
+     * @param in Stream the object was written to.
+     * @return The object read.
+     * @throws IOException if the stream cannot be read, or holds classes that do not match those of Duke.
+     * @throws ClassNotFoundException if the stream holds a class that Duke does not have.
+     */
+    static Object readSerialized(InputStream in) throws IOException, ClassNotFoundException {
+        return new ObjectInputStream(in).readObject();
+    }
+
     /**
      * Reads the file contents as a String
      * @return
@@ -0,0 +1,364 @@
+package duke.dependencies.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskDate;
+import duke.dependencies.task.TaskType;
+
+/**
+ * Binary format for saving the task list, used in place of Java serialization.
+ *
+ * <pre>
+ *     file:   [int magic][byte version][int number of tasks]([varint length][task])...
+ *     task:   [byte type][byte flags][varlong id, if FLAG_ID is set][int epoch day, if the task has a date]
+ *             [varint length][UTF-8 date as given, if FLAG_RAW_DATE is set]
+ *             [varint length][UTF-8 description]
+ * </pre>
+ *
+ * The date is kept as a day count, and the date string the user typed is rebuilt from it. The string is only
+ * written out as well when it cannot be rebuilt, e.g. "5/8/2020" instead of "05/08/2020".
+ *
+ * Version 1 of the format had no ids. Its files and records are still read, giving tasks without an id, which the
+ * TaskList then gives one.
+ */
+final class TaskCodec {
+
+    /** "DUKE" in ASCII. Files saved with Java serialization start with 0xACED instead. */
+    static final int MAGIC = 0x44554B45;
+    static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_IDS = 1;
+    static final int HEADER_SIZE = Integer.BYTES + 1 + Integer.BYTES;
+
+    private static final int FLAG_COMPLETED = 1;
+    private static final int FLAG_SLASH_DATE = 1 << 1;
+    private static final int FLAG_RAW_DATE = 1 << 2;
+    private static final int FLAG_ID = 1 << 3;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private TaskCodec() {}
+
+    /**
+     * Writes the whole list to the given channel.
+     *
+     * @param tasks List to be written.
+     * @param channel Channel to write to.
+     * @throws IOException if the channel cannot be written to.
+     */
+    static void write(List<? extends Schedulable> tasks, WritableByteChannel channel) throws IOException {
+        write(tasks, channel, null);
+    }
+
+    /**
+     * Writes the whole list to the given channel, recording where each task starts in the given index.
+     *
+     * @param tasks List to be written.
+     * @param channel Channel to write to.
+     * @param index Index to record the tasks in, or null if there is none.
+     * @throws IOException if the channel cannot be written to.
+     */
+    static void write(List<? extends Schedulable> tasks, WritableByteChannel channel, TaskIndex index)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC).put(VERSION).putInt(tasks.size());
+        long offset = HEADER_SIZE;
+        for (Schedulable task : tasks) {
+            byte[] record = encode(task);
+            if (index != null) {
+                index.record(offset, task);
+            }
+            offset += varIntSize(record.length) + record.length;
+            if (buffer.remaining() < record.length + 5) {
+                drain(buffer, channel);
+            }
+            putVarInt(buffer, record.length);
+            if (buffer.remaining() < record.length) {
+                drain(buffer, channel);
+                channel.write(ByteBuffer.wrap(record));
+            } else {
+                buffer.put(record);
+            }
+        }
+        drain(buffer, channel);
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads a whole list from the given channel.
+     *
+     * @param channel Channel positioned at the start of the file.
+     * @return The list read.
+     * @throws IOException if the channel does not hold a list in this format.
+     */
+    static ArrayList<Schedulable> read(ReadableByteChannel channel) throws IOException {
+        ChannelReader in = new ChannelReader(channel);
+        ByteBuffer header = in.require(HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a task list file");
+        }
+        byte version = header.get();
+        if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+            throw new IOException("Unsupported task list version " + version);
+        }
+        int count = header.getInt();
+        ArrayList<Schedulable> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = in.readVarInt();
+            ByteBuffer record = in.require(length);
+            int end = record.position() + length;
+            tasks.add(decode(record));
+            record.position(end);
+        }
+        return tasks;
+    }
+
+    /**
+     * Reads a channel through a buffer, refilling the buffer as records are taken from it.
+     */
+    private static class ChannelReader {
+        private final ReadableByteChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+        ChannelReader(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Returns the buffer with at least the given number of unread bytes at its position.
+         */
+        ByteBuffer require(int needed) throws IOException {
+            if (buffer.remaining() >= needed) {
+                return buffer;
+            }
+            if (buffer.capacity() < needed) {
+                buffer = ByteBuffer.allocate(needed).put(buffer);
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < needed) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Task list file is cut short");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = require(1).get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed length in task list file");
+        }
+    }
+
+    /**
+     * Returns the record for a single task.
+     *
+     * @param task Task to be encoded.
+     * @return The bytes of the record.
+     */
+    static byte[] encode(Schedulable task) {
+        TaskType type = task.getType();
+        byte[] description = task.showTaskDescription().getBytes(StandardCharsets.UTF_8);
+        int flags = task.isCompleted() ? FLAG_COMPLETED : 0;
+        long id = task.getId();
+        if (id != 0) {
+            flags |= FLAG_ID;
+        }
+        int epochDay = 0;
+        byte[] rawDate = null;
+        TaskDate date = task.getTaskDate();
+        if (date != null) {
+            String given = task.getRawDateString();
+            epochDay = Math.toIntExact(date.toEpochDay());
+            boolean isSlashDate = given.contains("/");
+            if (isSlashDate) {
+                flags |= FLAG_SLASH_DATE;
+            }
+            if (!given.equals(renderDate(epochDay, isSlashDate))) {
+                flags |= FLAG_RAW_DATE;
+                rawDate = given.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        int size = 2 + (id != 0 ? varLongSize(id) : 0) + (date != null ? Integer.BYTES : 0)
+                + (rawDate != null ? varIntSize(rawDate.length) + rawDate.length : 0)
+                + varIntSize(description.length) + description.length;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) type.ordinal()).put((byte) flags);
+        if (id != 0) {
+            putVarLong(buffer, id);
+        }
+        if (date != null) {
+            buffer.putInt(epochDay);
+        }
+        if (rawDate != null) {
+            putVarInt(buffer, rawDate.length);
+            buffer.put(rawDate);
+        }
+        putVarInt(buffer, description.length);
+        buffer.put(description);
+        return buffer.array();
+    }
+
+    /**
+     * Reads a single task record at the buffer's position.
+     *
+     * @param buffer Buffer holding the whole record.
+     * @return The task read.
+     */
+    static Task decode(ByteBuffer buffer) {
+        TaskType type = TYPES[buffer.get()];
+        int flags = buffer.get();
+        long id = (flags & FLAG_ID) != 0 ? readVarLong(buffer) : 0;
+        Task task;
+        if (hasDate(type)) {
+            int epochDay = buffer.getInt();
+            String given = (flags & FLAG_RAW_DATE) != 0
+                    ? readString(buffer)
+                    : renderDate(epochDay, (flags & FLAG_SLASH_DATE) != 0);
+            task = Task.createOfType(type, readString(buffer), given, TaskDate.ofEpochDay(epochDay));
+        } else {
+            task = Task.createOfType(type, readString(buffer), "");
+        }
+        if ((flags & FLAG_COMPLETED) != 0) {
+            task.completed();
+        }
+        if (id != 0) {
+            task.giveId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Reads a task record together with the length in front of it, as written in the file, at the buffer's
+     * position. The buffer is left positioned after the record.
+     *
+     * @param buffer Buffer holding the whole record.
+     * @return The task read.
+     */
+    static Task decodeEntry(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        int end = buffer.position() + length;
+        Task task = decode(buffer);
+        buffer.position(end);
+        return task;
+    }
+
+    private static boolean hasDate(TaskType type) {
+        return type == TaskType.EVENT || type == TaskType.DEADLINE;
+    }
+
+    /**
+     * Returns the date string rebuilt from the day count, as "dd/MM/yyyy" or as "yyyy-MM-dd".
+     */
+    private static String renderDate(int epochDay, boolean isSlashDate) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        if (!isSlashDate) {
+            return date.toString();
+        }
+        StringBuilder sb = new StringBuilder(10);
+        appendTwoDigits(sb, date.getDayOfMonth()).append('/');
+        appendTwoDigits(sb, date.getMonthValue()).append('/');
+        return sb.append(date.getYear()).toString();
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (buffer.hasArray()) {
+            String s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return s;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed id in task record");
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed length in task record");
+    }
+}
@@ -0,0 +1,190 @@
+package duke.dependencies.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import duke.dependencies.metrics.Metrics;
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.TaskType;
+
+/**
+ * Index of where each task record starts in a file written by {@link TaskCodec}, saved next to the file so that
+ * the list can be paged in without reading the whole file at startup.
+ *
+ * <pre>
+ *     [int magic][byte version][int number of tasks]
+ *     ([int number of tasks][int number of completed tasks]), for each task type in order
+ *     [long id after the largest][int number of tasks without an id]
+ *     [long size of the data file][long last modified time of the data file][long offset of record]...
+ * </pre>
+ *
+ * The size and time of the data file are checked when the index is read, so an index left behind by an earlier
+ * save is never used for a newer data file.
+ */
+final class TaskIndex {
+
+    /** "DUKI" in ASCII. */
+    private static final int MAGIC = 0x44554B49;
+    private static final byte VERSION = 3;
+    private static final int NUM_OF_TYPES = TaskType.values().length;
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Integer.BYTES * (1 + NUM_OF_TYPES * 2)
+            + Long.BYTES + Integer.BYTES + Long.BYTES * 2;
+
+    private long[] offsets;
+    private int size;
+    private final int[] totals;
+    private final int[] completed;
+    private long nextId;
+    private int numWithoutId;
+    private long dataSize;
+
+    TaskIndex() {
+        this(new long[16], 0, new int[NUM_OF_TYPES], new int[NUM_OF_TYPES], 1, 0, 0);
+    }
+
+    private TaskIndex(long[] offsets, int size, int[] totals, int[] completed, long nextId, int numWithoutId,
+            long dataSize) {
+        this.offsets = offsets;
+        this.size = size;
+        this.totals = totals;
+        this.completed = completed;
+        this.nextId = nextId;
+        this.numWithoutId = numWithoutId;
+        this.dataSize = dataSize;
+    }
+
+    /**
+     * Records the next task written.
+     *
+     * @param offset Position in the data file where the record of the task starts.
+     * @param task The task written.
+     */
+    void record(long offset, Schedulable task) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = offset;
+        int type = task.getType().ordinal();
+        totals[type]++;
+        if (task.isCompleted()) {
+            completed[type]++;
+        }
+        if (task.getId() == 0) {
+            numWithoutId++;
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the counts of the tasks indexed.
+     */
+    TaskStats getStats() {
+        return new TaskStats(totals, completed);
+    }
+
+    /**
+     * Returns the id after the largest id of the tasks indexed, or 1 if there is none.
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Returns whether some of the tasks indexed were saved without an id.
+     */
+    boolean isMissingIds() {
+        return numWithoutId > 0;
+    }
+
+    /**
+     * Returns where the record of the task at the given position starts.
+     */
+    long startOf(int position) {
+        return offsets[position];
+    }
+
+    /**
+     * Returns where the record of the task at the given position ends.
+     */
+    long endOf(int position) {
+        return position + 1 < size ? offsets[position + 1] : dataSize;
+    }
+
+    /**
+     * Saves the index for the given data file, which should be completely written.
+     *
+     * @param indexPath Path to save the index at.
+     * @param dataPath Path of the data file indexed.
+     * @throws IOException if the index cannot be saved.
+     */
+    void writeTo(Path indexPath, Path dataPath) throws IOException {
+        dataSize = Files.size(dataPath);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + size * Long.BYTES);
+        buffer.putInt(MAGIC).put(VERSION).putInt(size);
+        for (int type = 0; type < NUM_OF_TYPES; type++) {
+            buffer.putInt(totals[type]).putInt(completed[type]);
+        }
+        buffer.putLong(nextId).putInt(numWithoutId)
+                .putLong(dataSize)
+                .putLong(Files.getLastModifiedTime(dataPath).toMillis());
+        buffer.asLongBuffer().put(offsets, 0, size);
+        buffer.clear();
+        try (FileChannel fc = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                fc.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Returns the index saved for the given data file, or null if there is none or if it belongs to another
+     * version of the data file.
+     *
+     * @param indexPath Path the index is saved at.
+     * @param dataPath Path of the data file indexed.
+     * @return The index read, or null if it cannot be used.
+     */
+    static TaskIndex readFrom(Path indexPath, Path dataPath) {
+        try {
+            if (!Files.exists(indexPath)) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+            Metrics.recordBytesRead(buffer.capacity());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                return null;
+            }
+            int size = buffer.getInt();
+            int[] totals = new int[NUM_OF_TYPES];
+            int[] completed = new int[NUM_OF_TYPES];
+            for (int type = 0; type < NUM_OF_TYPES; type++) {
+                totals[type] = buffer.getInt();
+                completed[type] = buffer.getInt();
+            }
+            long nextId = buffer.getLong();
+            int numWithoutId = buffer.getInt();
+            long dataSize = buffer.getLong();
+            long dataModified = buffer.getLong();
+            if (dataSize != Files.size(dataPath)
+                    || dataModified != Files.getLastModifiedTime(dataPath).toMillis()
+                    || buffer.remaining() != size * Long.BYTES) {
+                return null;
+            }
+            long[] offsets = new long[Math.max(size, 16)];
+            buffer.asLongBuffer().get(offsets, 0, size);
+            return new TaskIndex(offsets, size, totals, completed, nextId, numWithoutId, dataSize);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package duke.dependencies.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import duke.dependencies.metrics.Metrics;
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Append-only log of the changes made to the task list. Each change is written as one record:
+ *
+ * <pre>
+ *     [int length][byte operation][operation data][int crc32 of operation and data]
+ * </pre>
+ *
+ * Added tasks are written in the record format of {@link TaskCodec}. Tasks added together by an import are written
+ * as one record, so they are kept or lost together.
+ *
+ * A record cut short by a crash fails its length or checksum and is dropped, together with anything after it,
+ * when the log is replayed.
+ */
+class TaskJournal {
+
+    private static final byte ADD = 1;
+    private static final byte DONE = 2;
+
+    /** Removal of many positions at once, given as they were before the removal. */
+    private static final byte DELETE = 3;
+
+    private static final byte CLEAR = 4;
+
+    /** Tasks added at once, as a count followed by the length and record of each task. */
+    private static final byte ADD_ALL = 5;
+
+    /** Length field and checksum around every record. */
+    private static final int FRAME_OVERHEAD = Integer.BYTES * 2;
+
+    private final Path path;
+    private final long generation;
+    private FileChannel channel;
+
+    /**
+     * Constructor for a journal stored at the given path.
+     *
+     * @param path Path of the log file.
+     * @param generation Generation of the log. Logs are replayed in order of their generation.
+     */
+    TaskJournal(Path path, long generation) {
+        this.path = path;
+        this.generation = generation;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Opens the log for appending, creating the file if it is not present.
+     *
+     * @throws IOException if the file cannot be opened.
+     */
+    void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    /**
+     * Returns the number of bytes in the log.
+     */
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    void appendAdd(Schedulable task) throws IOException {
+        byte[] encoded = TaskCodec.encode(task);
+        byte[] record = new byte[encoded.length + 1];
+        record[0] = ADD;
+        System.arraycopy(encoded, 0, record, 1, encoded.length);
+        append(record);
+    }
+
+    /**
+     * Appends the adding of the given tasks as a single record, so that a crash keeps either all of them or none.
+     */
+    void appendAddAll(List<Schedulable> added) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(bos);
+        dos.writeByte(ADD_ALL);
+        dos.writeInt(added.size());
+        for (Schedulable task : added) {
+            byte[] encoded = TaskCodec.encode(task);
+            dos.writeInt(encoded.length);
+            dos.write(encoded);
+        }
+        append(bos.toByteArray());
+    }
+
+    void appendDone(int[] indices) throws IOException {
+        append(indexRecord(DONE, indices));
+    }
+
+    void appendDelete(int[] positions) throws IOException {
+        append(indexRecord(DELETE, positions));
+    }
+
+    void appendClear() throws IOException {
+        append(new byte[] {CLEAR});
+    }
+
+    private static byte[] indexRecord(byte op, int[] indices) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(1 + Integer.BYTES * (indices.length + 1));
+        DataOutputStream dos = new DataOutputStream(bos);
+        dos.writeByte(op);
+        dos.writeInt(indices.length);
+        for (int index : indices) {
+            dos.writeInt(index);
+        }
+        return bos.toByteArray();
+    }
+
+    private void append(byte[] record) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        ByteBuffer frame = ByteBuffer.allocate(record.length + FRAME_OVERHEAD);
+        frame.putInt(record.length).put(record).putInt((int) crc.getValue()).flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        Metrics.recordBytesWritten(frame.limit());
+    }
+
+    /**
+     * Applies every complete record in the log to the given list, in the order they were written. A torn record at
+     * the end of the log is cut off so that later appends follow the last complete record.
+     *
+     * @param tasks List to apply the changes to.
+     * @throws IOException if the log cannot be read.
+     */
+    void replayInto(List<Schedulable> tasks) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(path));
+        Metrics.recordBytesRead(log.capacity());
+        long validLength = 0;
+        while (log.remaining() >= FRAME_OVERHEAD) {
+            int length = log.getInt();
+            if (length <= 0 || length > log.remaining() - Integer.BYTES) {
+                break;
+            }
+            byte[] record = new byte[length];
+            log.get(record);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if (log.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            apply(record, tasks);
+            validLength = log.position();
+        }
+        if (validLength < log.capacity()) {
+            try (FileChannel fc = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                fc.truncate(validLength);
+            }
+        }
+    }
+
+    private static void apply(byte[] record, List<Schedulable> tasks) throws IOException {
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(record));
+        switch (dis.readByte()) {
+        case ADD: {
+            tasks.add(TaskCodec.decode(ByteBuffer.wrap(record, 1, record.length - 1)));
+            break;
+        }
+        case ADD_ALL: {
+            ByteBuffer added = ByteBuffer.wrap(record, 1, record.length - 1);
+            int count = added.getInt();
+            for (int i = 0; i < count; i++) {
+                int end = added.getInt();
+                end += added.position();
+                tasks.add(TaskCodec.decode(added));
+                added.position(end);
+            }
+            break;
+        }
+        case DONE: {
+            int count = dis.readInt();
+            for (int i = 0; i < count; i++) {
+                tasks.get(dis.readInt()).completed();
+            }
+            break;
+        }
+        case DELETE: {
+            int[] positions = new int[dis.readInt()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = dis.readInt();
+            }
+            Compaction.removePositions(tasks, positions);
+            break;
+        }
+        case CLEAR: {
+            tasks.clear();
+            break;
+        }
+        default:
+            throw new IOException("Unknown journal record in " + record.length + " bytes");
+        }
+    }
+
+    /**
+     * Closes the log. Anything appended is forced onto the disk first.
+     */
+    void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        channel = null;
+    }
+
+    /**
+     * Deletes the log file.
+     *
+     * @throws IOException if the file cannot be deleted.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
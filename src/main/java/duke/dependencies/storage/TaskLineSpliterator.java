@@ -0,0 +1,110 @@
+package duke.dependencies.storage;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Spliterator over the lines of the listing of a task list, "1. [ToDo][?] run" and so on, rendered only as they are
+ * taken. Lines are rendered a chunk at a time while holding the lock of the list, so a listing taken while the list
+ * changes may mix lines from before and after a change, but never sees a list in the middle of one. The listing
+ * ends early if the list shrinks below the range covered.
+ */
+class TaskLineSpliterator implements Spliterator<String> {
+
+    /** Number of lines rendered for each time the lock of the list is taken. */
+    static final int CHUNK_SIZE = 256;
+
+    private final List<Schedulable> tasks;
+    private int position;
+    private final int end;
+
+    /**
+     * Constructor for a spliterator over the given range of positions.
+     *
+     * @param tasks List whose tasks are rendered.
+     * @param from First position, inclusive.
+     * @param to Last position, exclusive.
+     */
+    TaskLineSpliterator(List<Schedulable> tasks, int from, int to) {
+        this.tasks = tasks;
+        this.position = from;
+        this.end = to;
+    }
+
+    /**
+     * Returns the line of the task at the given position, numbered from 1.
+     */
+    static String lineOf(int position, Schedulable task) {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, position, task);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the line of the task at the given position, numbered from 1, to the given StringBuilder.
+     */
+    static void appendLine(StringBuilder sb, int position, Schedulable task) {
+        sb.append(position + 1).append(". ");
+        task.appendTo(sb);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        String line;
+        synchronized (tasks) {
+            if (position >= Math.min(end, tasks.size())) {
+                return false;
+            }
+            line = lineOf(position, tasks.get(position));
+            position++;
+        }
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+        String[] chunk = new String[CHUNK_SIZE];
+        while (true) {
+            int count = 0;
+            synchronized (tasks) {
+                int stop = Math.min(Math.min(end, tasks.size()), position + CHUNK_SIZE);
+                while (position < stop) {
+                    chunk[count++] = lineOf(position, tasks.get(position));
+                    position++;
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            // The lines are handed on without the lock, so a slow consumer does not hold up changes to the list.
+            for (int i = 0; i < count; i++) {
+                action.accept(chunk[i]);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        int mid = (position + end) >>> 1;
+        if (end - position < CHUNK_SIZE * 2) {
+            return null;
+        }
+        Spliterator<String> prefix = new TaskLineSpliterator(tasks, position, mid);
+        position = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, end - position);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
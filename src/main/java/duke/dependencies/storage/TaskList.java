@@ -1,48 +1,196 @@
 package duke.dependencies.storage;
 
+import duke.dependencies.dukeexceptions.InvalidIndexException;
 import duke.dependencies.dukeexceptions.MissingListException;
+import duke.dependencies.metrics.DukeEvent;
+import duke.dependencies.metrics.Metrics;
 import duke.dependencies.task.Schedulable;
 import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskDate;
+import duke.dependencies.task.TaskType;
 
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Class that implements the list of Tasks the user has. Implemented with an ArrayList,
+ * Class that implements the list of Tasks the user has. The list is held as versions that are never changed once
+ * made: a change makes a new version and publishes it, and reading the list reads the version published last.
+ * Reads of the list and its counts thus take no lock and never wait for a change. Changes are made one at a time.
  *
  */
 public class TaskList {
 
-    /** Loader Object to read and write to save file. */
-    private Storage l;
+    /** Name of the system property choosing how the list is saved: "snapshot" (default), "journal" or "mapped". */
+    private static final String STORAGE_MODE_PROPERTY = "duke.storage";
 
-    /** todoList that stores the tasks. */
-    private ArrayList<Schedulable> todoList;
+    /**
+     * Whether the tasks are held as columns, set with the system property duke.layout=columnar. A list paged from
+     * its file is left as it is.
+     */
+    private static final boolean IS_COLUMNAR = "columnar".equalsIgnoreCase(System.getProperty("duke.layout"));
+
+    /** Keeps the saved copy of the list up to date. */
+    private TaskPersistence persistence;
+
+    /** Version of the list published last. */
+    private volatile TaskVersion current;
+
+    /** Held while the list is changed, by one thread at a time. */
+    private final Object writeLock = new Object();
+
+    /** Sequence number of the next task added. Numbers are given out in increasing order as tasks are added. */
+    private int nextSeq;
+
+    /**
+     * Id given to the next task added. Ids are given out in increasing order, saved with each task, and follow on
+     * from the largest saved id when the list is loaded again, so that a task keeps its id across restarts.
+     */
+    private long nextId = 1;
+
+    /**
+     * Read while the indexes are used, and written while they are changed together with the version they index
+     * being published, so that the indexes always match the current version while it is held.
+     */
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    /** Index of the words in each task, built on the first find. Null until then. */
+    private volatile TokenIndex tokenIndex;
+
+    /** Index of the tasks with a date, built on the first query by date. Null until then. */
+    private volatile DateIndex dateIndex;
+
+    /** Ids of the tasks, given out the first time a task is shown with its id or given by it. Null until then. */
+    private volatile IdIndex idIndex;
+
+    /**
+     * Number of tasks of each type, and of completed tasks of each type, indexed by the ordinal of the type. Only
+     * used by changes, which publish a copy with each version.
+     */
+    private final int[] totals = new int[TaskType.values().length];
+    private final int[] completed = new int[TaskType.values().length];
 
     /** Private constructor */
     private TaskList() {
-        l = new Storage("data", "taskdata.txt");
+        this(System.getProperty(STORAGE_MODE_PROPERTY, "snapshot"));
+    }
 
-        // Checks if there are any save files of todoList.
-        // If there is, attempt to read the object as arraylist.
-        // If there is none, instantiates the file.
-        // And assigns the todolist to a new arraylist.
-        if (l.isSavedFilePresent()) {
-            try {
-                todoList = l.openAndReadObject();
-            } catch (MissingListException e) {
+    private TaskList(String mode) {
+        this(createPersistence(mode), mode);
+    }
+
+    /**
+     * Constructor for a list kept by the given persistence, loading the list it saved.
+     *
+     * @param saved Keeps the saved copy of the list.
+     * @param mode Name of the way the list is saved, recorded with the time taken to load it.
+     */
+    TaskList(TaskPersistence saved, String mode) {
+        persistence = new MeasuredPersistence(saved);
+
+        // Reads the saved list, if there is any.
+        // If there is none, the persistence prepares the save file,
+        // and the todolist is assigned to a new arraylist.
+        List<Schedulable> todoList;
+        DukeEvent event = new DukeEvent.Load(mode);
+        long bytesBefore = Metrics.bytesMovedByThisThread();
+        event.begin();
+        try {
+            todoList = persistence.load();
+        } catch (MissingListException e) {
 //                e.printStackTrace();
-                System.out.println("OOPS, there seems to be data corruption in the todolist!");
-                System.out.println("Initialising new directory for saving your list...");
-                todoList = new ArrayList<>();
-            }
-        } else {
-            l.instantiateFile();
+            System.out.println("OOPS, there seems to be data corruption in the todolist!");
+            System.out.println("Initialising new directory for saving your list...");
             todoList = new ArrayList<>();
         }
+        event.end(Metrics.currentType(), todoList.size(), Metrics.bytesMovedByThisThread() - bytesBefore);
+        nextSeq = todoList.size();
+        restoreCounts(todoList);
+        todoList = restoreIds(todoList);
+        if (IS_COLUMNAR && !(todoList instanceof PagedTaskList)) {
+            todoList = ColumnarTaskList.copyOf(todoList);
+        }
+        current = TaskVersion.of(todoList, new TaskStats(totals, completed));
+    }
+
+    /**
+     * Counts the tasks of the loaded list. A paged list gives its counts from the index of its file instead.
+     */
+    private void restoreCounts(List<Schedulable> todoList) {
+        if (todoList instanceof PagedTaskList) {
+            TaskStats saved = ((PagedTaskList) todoList).getSavedStats();
+            for (TaskType type : TaskType.values()) {
+                totals[type.ordinal()] = saved.getTotal(type);
+                completed[type.ordinal()] = saved.getNumOfCompleted(type);
+            }
+            return;
+        }
+        for (Schedulable task : todoList) {
+            count(task, 1);
+        }
+    }
+
+    /**
+     * Finds the id to give the next task added, and gives an id to each task saved without one by an older version
+     * of Duke, saving the list again if any was given. A paged list gives its next id from the index of its file.
+     *
+     * @return The list loaded, or a copy of it held in memory if tasks were given ids, since a paged list would read
+     *     them from its file again without their ids.
+     */
+    private List<Schedulable> restoreIds(List<Schedulable> todoList) {
+        if (todoList instanceof PagedTaskList && !((PagedTaskList) todoList).isMissingIds()) {
+            nextId = ((PagedTaskList) todoList).getSavedNextId();
+            return todoList;
+        }
+        boolean isMissingIds = false;
+        for (Schedulable task : todoList) {
+            nextId = Math.max(nextId, task.getId() + 1);
+            isMissingIds |= task.getId() == 0;
+        }
+        if (!isMissingIds) {
+            return todoList;
+        }
+        List<Schedulable> withIds = new ArrayList<>(todoList);
+        for (Schedulable task : withIds) {
+            if (task.getId() == 0) {
+                ((Task) task).giveId(nextId++);
+            }
+        }
+        persistence.onIdsGiven(withIds);
+        return withIds;
+    }
+
+    /**
+     * Adds the given task to the counts, or takes it out of them if the change is -1.
+     */
+    private void count(Schedulable task, int change) {
+        int type = task.getType().ordinal();
+        totals[type] += change;
+        if (task.isCompleted()) {
+            completed[type] += change;
+        }
+    }
+
+    private static TaskPersistence createPersistence(String mode) {
+        if (mode.equalsIgnoreCase("journal")) {
+            return new JournaledPersistence("data", "taskdata.txt");
+        }
+        if (mode.equalsIgnoreCase("mapped")) {
+            return new MappedPersistence("data", "taskdata.txt");
+        }
+        Storage storage = new Storage("data", "taskdata.txt");
+        DurabilityPolicy policy = DurabilityPolicy.fromSystemProperty();
+        if (policy.isSyncEveryOp()) {
+            return new SnapshotPersistence(storage);
+        }
+        return new WriteBehindPersistence(storage, policy);
     }
 
     /**
@@ -61,23 +209,164 @@ public class TaskList {
      * @return Returns
      */
     public String getTodosInList() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < todoList.size(); i++) {
-            sb.append(i+1);
-            sb.append(". ");
-            sb.append(todoList.get(i).toString());
+        return getTodosInList(false);
+    }
+
+    /**
+     * Returns the list in the same form as {@link #getTodosInList()}, with the id of each task after its number if
+     * asked for.
+     *
+     * @param isShowingIds Whether the ids of the tasks are shown.
+     * @return The list.
+     */
+    public String getTodosInList(boolean isShowingIds) {
+        return listTasks(isShowingIds).render(ListedTasks.NOTHING_LISTED);
+    }
 
-            // The last item should not have a newline character. List form.
-            if (i != todoList.size() - 1) {
-                sb.append("\n");
+    /**
+     * Returns the tasks in the list, numbered by their position, with their ids if asked for.
+     *
+     * @param isShowingIds Whether the ids of the tasks are shown.
+     * @return The tasks, not yet rendered.
+     */
+    public ListedTasks listTasks(boolean isShowingIds) {
+        IdIndex ids = isShowingIds ? getIdIndex() : null;
+        if (ids != null) {
+            indexLock.readLock().lock();
+        }
+        try {
+            TaskVersion todoList = current;
+            return collect(todoList, ids, 0, todoList.size()).build(todoList.getStats());
+        } finally {
+            if (ids != null) {
+                indexLock.readLock().unlock();
             }
         }
-        if (todoList.size() == 0) {
-            sb.append("Oops!!! Theres's nothing here!\n")
-                    .append("Try adding something to your list?");
+    }
+
+    /**
+     * Returns one page of the list in the same form as {@link #getTodosInList()}, followed by a line telling which
+     * page it is. Tasks keep their numbers in the whole list.
+     *
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @return The tasks on the page.
+     * @throws InvalidIndexException if the list does not reach the page.
+     */
+    public String getTodosInList(int page, int pageSize) throws InvalidIndexException {
+        return getTodosInList(page, pageSize, false);
+    }
+
+    /**
+     * Returns one page of the list in the same form as {@link #getTodosInList(int, int)}, with the id of each task
+     * after its number if asked for.
+     *
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @param isShowingIds Whether the ids of the tasks are shown.
+     * @return The tasks on the page.
+     * @throws InvalidIndexException if the list does not reach the page.
+     */
+    public String getTodosInList(int page, int pageSize, boolean isShowingIds) throws InvalidIndexException {
+        return listPage(page, pageSize, isShowingIds).render(ListedTasks.NOTHING_LISTED);
+    }
+
+    /**
+     * Returns the tasks on one page of the list, numbered by their position in the whole list, with their ids if
+     * asked for. The first page of an empty list has no tasks and is not a page.
+     *
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @param isShowingIds Whether the ids of the tasks are shown.
+     * @return The tasks on the page, not yet rendered.
+     * @throws InvalidIndexException if the list does not reach the page.
+     */
+    public ListedTasks listPage(int page, int pageSize, boolean isShowingIds) throws InvalidIndexException {
+        IdIndex ids = isShowingIds ? getIdIndex() : null;
+        if (ids != null) {
+            indexLock.readLock().lock();
         }
+        try {
+            TaskVersion todoList = current;
+            int size = todoList.size();
+            if (size == 0 && page == 1) {
+                return collect(todoList, ids, 0, 0).build(todoList.getStats());
+            }
+            int pages = (int) ((size + (long) pageSize - 1) / pageSize);
+            if (page < 1 || page > pages) {
+                throw new InvalidIndexException("Error: There is no page " + page + " in the list");
+            }
+            int from = (int) Math.min((long) (page - 1) * pageSize, size);
+            int to = (int) Math.min((long) from + pageSize, size);
+            return collect(todoList, ids, from, to).buildPage(todoList.getStats(), page, pages);
+        } finally {
+            if (ids != null) {
+                indexLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Collects the tasks in the given range, numbered by their position, with their ids if ids are given.
+     */
+    private static ListedTasks.Builder collect(TaskVersion todoList, IdIndex ids, int from, int to) {
+        ListedTasks.Builder listed = new ListedTasks.Builder(ids != null);
+        for (int i = from; i < to; i++) {
+            listed.add(i + 1, todoList.get(i), ids == null ? 0 : ids.idOf(todoList.seqAt(i)));
+        }
+        return listed;
+    }
+
+    /**
+     * Returns the lines of the list, in the same form as {@link #getTodosInList()}, rendered only as the stream is
+     * consumed. Front ends can show a long list as it comes instead of building it as one string first.
+     * The stream shows the list as it was when it was asked for, whatever changes are made while it is consumed.
+     *
+     * @return Stream of the lines, one for each task.
+     */
+    public Stream<String> streamTodosInList() {
+        TaskVersion todoList = current;
+        return StreamSupport.stream(new TaskLineSpliterator(todoList, 0, todoList.size()), false);
+    }
+
+    /**
+     * Publishes the given version, together with the changes to the indexes that go with it.
+     */
+    private void publish(TaskVersion next, Consumer<ListIndex> changes) {
+        indexLock.writeLock().lock();
+        try {
+            for (ListIndex index : new ListIndex[] {tokenIndex, dateIndex, idIndex}) {
+                if (index != null) {
+                    changes.accept(index);
+                }
+            }
+            current = next;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts and numbers given out as they were before a change, put back if saving the change throws so that the
+     * list is left as it was. The version before the change is still the one published then.
+     */
+    private final class Undo implements Runnable {
+        private final int[] totalsBefore = totals.clone();
+        private final int[] completedBefore = completed.clone();
+        private final int seqBefore = nextSeq;
+        private final long idBefore = nextId;
+
+        @Override
+        public void run() {
+            System.arraycopy(totalsBefore, 0, totals, 0, totals.length);
+            System.arraycopy(completedBefore, 0, completed, 0, completed.length);
+            nextSeq = seqBefore;
+            nextId = idBefore;
+        }
+    }
 
-        return sb.toString();
+    private TaskStats countsNow() {
+        return new TaskStats(totals, completed);
     }
 
     /**
@@ -85,8 +374,20 @@ public class TaskList {
      * @return A string reply indicating list data is wiped.
      */
     public String clearList() {
-        todoList = new ArrayList<>();
-        l.overwriteAndSave(todoList);
+        synchronized (writeLock) {
+            Undo undo = new Undo();
+            Arrays.fill(totals, 0);
+            Arrays.fill(completed, 0);
+            nextSeq = 0;
+            TaskVersion next = TaskVersion.of(List.of(), countsNow());
+            try {
+                persistence.onClear(next);
+            } catch (RuntimeException e) {
+                undo.run();
+                throw e;
+            }
+            publish(next, ListIndex::clear);
+        }
         return "List cleared.";
     }
 
@@ -98,56 +399,175 @@ public class TaskList {
      * @return String representing the newly added task.
      */
     public String add(Task task) {
-        assert !task.isItEmpty() && !task.isMiscTask();  // Add Assertions
-        todoList.add(task);
-        l.overwriteAndSave(todoList);
+        addTask(task);
         return task.toString();
     }
 
     /**
-     * Finds the given task at index and completes it.
+     * Adds the specified task to the todoList.
      *
-     * @param nums An array of numbers in string form.
-     * @return String representing the newly completed task.
+     * @param task Task object to be added.
+     * @return The task added, with the counts of the list it was added to.
      */
-    public String done(Integer... nums) { // VARARGS // C-MassOps
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < nums.length; i++) {
-            Schedulable t = todoList.get(nums[i] - 1);
-            t.completed();
-            sb.append(t.toString());
-            if (i != nums.length - 1) {
-                sb.append("\n");
+    public ListedTasks addTask(Task task) {
+        assert !task.isItEmpty() && !task.isMiscTask();  // Add Assertions
+        TaskVersion next;
+        synchronized (writeLock) {
+            Undo undo = new Undo();
+            task.giveId(nextId++);
+            count(task, 1);
+            int seq = nextSeq++;
+            next = current.withAdded(task, seq, countsNow());
+            try {
+                persistence.onAdd(next, task);
+            } catch (RuntimeException e) {
+                undo.run();
+                throw e;
             }
+            publish(next, index -> index.add(seq, task));
         }
-        l.overwriteAndSave(todoList);
-        return sb.toString();
+        return ListedTasks.unnumbered(new Schedulable[] {task}, next.getStats());
+    }
+
+    /**
+     * Adds all the given tasks to the end of the todoList at once. The tasks are saved together, and readers see
+     * either none of them or all of them.
+     *
+     * @param tasks Task objects to be added, in order.
+     * @return Number of tasks added.
+     */
+    public int addAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        Schedulable[] added = new Schedulable[tasks.size()];
+        for (int i = 0; i < added.length; i++) {
+            Task task = tasks.get(i);
+            assert !task.isItEmpty() && !task.isMiscTask();
+            added[i] = task;
+        }
+        synchronized (writeLock) {
+            Undo undo = new Undo();
+            for (Task task : tasks) {
+                task.giveId(nextId++);
+                count(task, 1);
+            }
+            int firstSeq = nextSeq;
+            nextSeq += added.length;
+            TaskVersion next = current.withAllAdded(added, firstSeq, countsNow());
+            try {
+                persistence.onAddAll(next, Arrays.asList(added));
+            } catch (RuntimeException e) {
+                undo.run();
+                throw e;
+            }
+            publish(next, index -> {
+                for (int i = 0; i < added.length; i++) {
+                    index.add(firstSeq + i, added[i]);
+                }
+            });
+        }
+        return added.length;
+    }
+
+    /**
+     * Finds the given tasks and completes them, in a single pass over the list.
+     *
+     * @param nums Numbers of the tasks to be completed.
+     * @return String representing the newly completed tasks.
+     * @throws InvalidIndexException if a number is not in the list. Nothing is completed then.
+     */
+    public String done(TaskSelection nums) throws InvalidIndexException { // C-MassOps
+        return complete(nums).render("");
+    }
+
+    /**
+     * Finds the given tasks and completes them, in a single pass over the list.
+     *
+     * @param nums Numbers of the tasks to be completed.
+     * @return The tasks completed, with the counts of the list they were completed in.
+     * @throws InvalidIndexException if a number is not in the list. Nothing is completed then.
+     */
+    public ListedTasks complete(TaskSelection nums) throws InvalidIndexException {
+        Schedulable[] done;
+        TaskVersion next;
+        synchronized (writeLock) {
+            Undo undo = new Undo();
+            TaskVersion todoList = current;
+            int[] indices = nums.resolve(todoList.size(), id -> positionOfId(todoList, id), false).stream().toArray();
+            done = new Schedulable[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                Schedulable t = todoList.get(indices[i]);
+                if (!t.isCompleted()) {
+                    completed[t.getType().ordinal()]++;
+                    // Tasks are shared with the versions being read, so a copy is completed instead.
+                    Task copy = Task.createOfType(t.getType(), t.showTaskDescription(), t.getRawDateString(),
+                            t.getTaskDate());
+                    copy.completed();
+                    copy.giveId(t.getId());
+                    t = copy;
+                }
+                done[i] = t;
+            }
+            next = todoList.withReplaced(indices, done, countsNow());
+            try {
+                persistence.onDone(next, indices);
+            } catch (RuntimeException e) {
+                undo.run();
+                throw e;
+            }
+            publish(next, index -> { });
+        }
+        return ListedTasks.unnumbered(done, next.getStats());
     }
 
     /**
      * Finds all given task specified and deletes it from
-     * list.
+     * list. All tasks are removed in a single pass over the list.
      *
-     * @param nums An array of numbers in string form.
-     * @return String representing the deleted task.
+     * @param nums Numbers of the tasks to be deleted.
+     * @return String representing the deleted tasks.
+     * @throws InvalidIndexException if a number is not in the list or is given more than once. Nothing is deleted
+     *     then.
      */
-    public String deleteTask(Integer... nums) {
-        StringBuilder sb = new StringBuilder();
-        List<Integer> arr = Arrays.asList(nums);
-        List<Integer> sortedArr = arr.stream().sorted().collect(Collectors.toList()); // A-Streams
-        int offset = 0;
-        for (int i = 0; i < sortedArr.size(); i++) {
-            int taskIndex = sortedArr.get(i) - offset - 1;
-            Schedulable t = todoList.get(taskIndex);
-            sb.append(t.toString());
-            if (i != sortedArr.size() - 1) {
-                sb.append("\n");
+    public String deleteTask(TaskSelection nums) throws InvalidIndexException {
+        return delete(nums).render("");
+    }
+
+    /**
+     * Finds all given tasks and deletes them from the list, in a single pass over the list.
+     *
+     * @param nums Numbers of the tasks to be deleted.
+     * @return The tasks deleted, with the counts of the list left.
+     * @throws InvalidIndexException if a number is not in the list or is given more than once. Nothing is deleted
+     *     then.
+     */
+    public ListedTasks delete(TaskSelection nums) throws InvalidIndexException {
+        Schedulable[] removed;
+        TaskVersion next;
+        synchronized (writeLock) {
+            Undo undo = new Undo();
+            TaskVersion todoList = current;
+            int[] positions = nums.resolve(todoList.size(), id -> positionOfId(todoList, id), true).stream().toArray();
+            removed = new Schedulable[positions.length];
+            int[] removedSeqs = new int[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                Schedulable t = todoList.get(positions[i]);
+                removed[i] = t;
+                removedSeqs[i] = todoList.seqAt(positions[i]);
+                count(t, -1);
             }
-            todoList.remove(taskIndex);
-            offset++;
+            next = todoList.withRemoved(positions, countsNow());
+            try {
+                persistence.onDelete(next, positions);
+            } catch (RuntimeException e) {
+                undo.run();
+                throw e;
+            }
+            // Sequence numbers grow with the position, so they are in increasing order as the positions are.
+            publish(next, index -> index.removeAll(removedSeqs, removed));
         }
-        l.overwriteAndSave(todoList);
-        return sb.toString();
+        return ListedTasks.unnumbered(removed, next.getStats());
     }
 
     /**
@@ -156,7 +576,7 @@ public class TaskList {
      * @return Size of the list as a String.
      */
     public int getListSize() {
-        return todoList.size();
+        return current.size();
     }
 
     /**
@@ -165,38 +585,190 @@ public class TaskList {
      * @return Integer number of completed items in the task list.
      */
     public int getNumOfCompleted() {
-        int c = 0;
-        for (Schedulable schedulable : todoList) {
-            if (schedulable.isCompleted()) {
-                c++;
-            }
-        }
-        return c;
+        return current.getStats().getNumOfCompleted();
     }
 
     /**
-     * Finds and returns all matching task that has the keyword in the task.
+     * Returns a snapshot of the number of tasks in the list, by type and by whether they are completed.
+     *
+     * @return The counts of the list as it is now.
+     */
+    public TaskStats getStats() {
+        return current.getStats();
+    }
+
+    /**
+     * Finds and returns all tasks in which every word of the keyword is part of a word in their description or date,
+     * ignoring case. A keyword without any letters or digits is matched against the whole of each task instead.
+     *
      * @param keyword Keyword to be matched.
      * @return A list in the form of a string of all task matching the keyword.
      */
     public String findMatching(String keyword) {
-        StringBuilder sb = new StringBuilder();
-        int i = 1;
-        List<Schedulable> filteredList = todoList.stream()
-                .filter(task -> {
-            String taskString = task.toString();
-            return taskString.contains(keyword);
-        }).collect(Collectors.toList());
-        for (Schedulable task : filteredList) {
-            String taskString = task.toString();
-            sb.append(i++)
-                    .append(". ")
-                    .append(taskString)
-                    .append("\n");
+        return find(keyword).render(ListedTasks.NOTHING_MATCHED);
+    }
+
+    /**
+     * Finds the tasks matching the keyword, as {@link #findMatching(String)} does, numbered in the order they are
+     * found.
+     *
+     * @param keyword Keyword to be matched.
+     * @return The tasks found, not yet rendered.
+     */
+    public ListedTasks find(String keyword) {
+        List<String> words = TokenIndex.tokenize(keyword);
+        if (words.isEmpty()) {
+            return scanMatching(keyword);
+        }
+        TokenIndex index = tokenIndex == null
+                ? build(() -> tokenIndex, built -> tokenIndex = built, new TokenIndex()) : tokenIndex;
+        TaskVersion todoList;
+        int[] matches;
+        indexLock.readLock().lock();
+        try {
+            todoList = current;
+            matches = index.find(words);
+            for (int m = 0; m < matches.length; m++) {
+                matches[m] = todoList.positionOf(matches[m]);
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        ListedTasks.Builder listed = new ListedTasks.Builder(false);
+        for (int position : matches) {
+            listed.add(listed.size() + 1, todoList.get(position), 0);
+        }
+        return listed.build(todoList.getStats());
+    }
+
+    /**
+     * Returns the tasks not yet completed that are dated before the given date, earliest first.
+     *
+     * @param date Date the tasks should be before.
+     * @return A list in the form of a string of the tasks found.
+     */
+    public String getDueBefore(TaskDate date) {
+        return dueBefore(date).render(ListedTasks.NOTHING_MATCHED);
+    }
+
+    /**
+     * Returns the tasks of {@link #getDueBefore(TaskDate)}, numbered by their position, not yet rendered.
+     */
+    public ListedTasks dueBefore(TaskDate date) {
+        return getDated(Long.MIN_VALUE, date.toEpochDay() - 1, true, Integer.MAX_VALUE);
+    }
 
+    /**
+     * Returns the tasks dated from the first date to the second, both included, earliest first. The dates may be
+     * given in either order.
+     *
+     * @param from One end of the range.
+     * @param to The other end of the range.
+     * @return A list in the form of a string of the tasks found.
+     */
+    public String getBetween(TaskDate from, TaskDate to) {
+        return between(from, to).render(ListedTasks.NOTHING_MATCHED);
+    }
+
+    /**
+     * Returns the tasks of {@link #getBetween(TaskDate, TaskDate)}, numbered by their position, not yet rendered.
+     */
+    public ListedTasks between(TaskDate from, TaskDate to) {
+        long fromDay = Math.min(from.toEpochDay(), to.toEpochDay());
+        long toDay = Math.max(from.toEpochDay(), to.toEpochDay());
+        return getDated(fromDay, toDay, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the given number of tasks not yet completed that are dated today or later, earliest first.
+     *
+     * @param count Maximum number of tasks to return.
+     * @return A list in the form of a string of the tasks found.
+     */
+    public String getUpcoming(int count) {
+        return upcoming(count).render(ListedTasks.NOTHING_MATCHED);
+    }
+
+    /**
+     * Returns the tasks of {@link #getUpcoming(int)}, numbered by their position, not yet rendered.
+     */
+    public ListedTasks upcoming(int count) {
+        return getDated(LocalDate.now().toEpochDay(), Long.MAX_VALUE, true, count);
+    }
+
+    private ListedTasks getDated(long fromDay, long toDay, boolean isIncompleteOnly, int limit) {
+        DateIndex index = dateIndex == null
+                ? build(() -> dateIndex, built -> dateIndex = built, new DateIndex()) : dateIndex;
+        ListedTasks.Builder listed = new ListedTasks.Builder(false);
+        indexLock.readLock().lock();
+        try {
+            TaskVersion todoList = current;
+            index.forEachBetween(fromDay, toDay, seq -> {
+                int position = todoList.positionOf(seq);
+                Schedulable task = todoList.get(position);
+                if (isIncompleteOnly && task.isCompleted()) {
+                    return true;
+                }
+                listed.add(position + 1, task, 0);
+                return listed.size() < limit;
+            });
+            return listed.build(todoList.getStats());
+        } finally {
+            indexLock.readLock().unlock();
         }
-        sb.setLength(sb.length() - 1);
-        return sb.toString();
+    }
+
+    /**
+     * Fills the given index from the current version and sets it, unless an index was set meanwhile.
+     *
+     * @param built Gives the index set, or null if there is none.
+     * @param setter Sets the index.
+     * @param empty New index to be filled.
+     * @return The index set.
+     */
+    private <T extends ListIndex> T build(Supplier<T> built, Consumer<T> setter, T empty) {
+        indexLock.writeLock().lock();
+        try {
+            if (built.get() == null) {
+                TaskVersion todoList = current;
+                for (int i = 0; i < todoList.size(); i++) {
+                    empty.add(todoList.seqAt(i), todoList.get(i));
+                }
+                setter.accept(empty);
+            }
+            return built.get();
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private IdIndex getIdIndex() {
+        IdIndex index = idIndex;
+        return index == null ? build(() -> idIndex, built -> idIndex = built, new IdIndex()) : index;
+    }
+
+    /**
+     * Returns the position in the given version of the task with the given id, or -1 if there is none.
+     */
+    private int positionOfId(TaskVersion todoList, long id) {
+        int seq = getIdIndex().seqOf(id);
+        return seq < 0 ? -1 : todoList.positionOf(seq);
+    }
+
+    private ListedTasks scanMatching(String keyword) {
+        TaskVersion todoList = current;
+        ListedTasks.Builder listed = new ListedTasks.Builder(false);
+        todoList.stream()
+                .filter(task -> task.toString().contains(keyword))
+                .forEachOrdered(task -> listed.add(listed.size() + 1, task, 0));
+        return listed.build(todoList.getStats());
+    }
+
+    /**
+     * Releases the files held by the list. The list should not be changed afterwards.
+     */
+    public void close() {
+        persistence.close();
     }
 
     /**
@@ -205,13 +777,7 @@ public class TaskList {
      * @return Integer number of incomplete items in the task list.
      */
     public int getNumOfIncomplete() {
-        int c = 0;
-        for (Schedulable schedulable : todoList) {
-            if (!schedulable.isCompleted()) {
-                c++;
-            }
-        }
-        return c;
+        return current.getStats().getNumOfIncomplete();
     }
 
 
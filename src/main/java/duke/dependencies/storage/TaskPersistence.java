@@ -0,0 +1,81 @@
+package duke.dependencies.storage;
+
+import java.util.List;
+
+import duke.dependencies.dukeexceptions.MissingListException;
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Strategy used by the TaskList to keep its saved copy of the list up to date. The TaskList applies every change
+ * to its own list first and then reports the change here, so implementations are free to either save the whole list
+ * or to record only the change.
+ *
+ * Indices given to the implementations are zero-based.
+ *
+ * An implementation that cannot save a change reports it and keeps its saved copy whole, writing the list out again
+ * if need be, instead of throwing. Should saving a change throw all the same, the TaskList does not make it.
+ */
+interface TaskPersistence {
+
+    /**
+     * Returns the saved list of tasks.
+     *
+     * @return The saved list, or an empty list if nothing has been saved yet.
+     * @throws MissingListException if the saved list is unreadable.
+     */
+    List<Schedulable> load() throws MissingListException;
+
+    /**
+     * Records that the given task was added to the end of the list.
+     *
+     * @param tasks The list after the change.
+     * @param added The task added.
+     */
+    void onAdd(List<Schedulable> tasks, Schedulable added);
+
+    /**
+     * Records that the given tasks were added to the end of the list, all at once. Either all of them are saved or,
+     * if saving is cut short, none of them.
+     *
+     * @param tasks The list after the change.
+     * @param added The tasks added, in order.
+     */
+    void onAddAll(List<Schedulable> tasks, List<Schedulable> added);
+
+    /**
+     * Records that the tasks at the given positions were completed.
+     *
+     * @param tasks The list after the change.
+     * @param indices Positions of the completed tasks.
+     */
+    void onDone(List<Schedulable> tasks, int[] indices);
+
+    /**
+     * Records that tasks were removed, all at once.
+     *
+     * @param tasks The list after the change.
+     * @param positions Positions of the removed tasks in the list before the change, distinct and in increasing
+     *                  order.
+     */
+    void onDelete(List<Schedulable> tasks, int[] positions);
+
+    /**
+     * Records that the whole list was cleared.
+     *
+     * @param tasks The list after the change.
+     */
+    void onClear(List<Schedulable> tasks);
+
+    /**
+     * Records that the tasks loaded without an id, as saved by older versions of Duke, were given one. Called at
+     * most once, right after the list is loaded, so that the tasks keep those ids when the list is next loaded.
+     *
+     * @param tasks The list with every task given an id.
+     */
+    void onIdsGiven(List<Schedulable> tasks);
+
+    /**
+     * Releases any file held open. Called once the list is no longer used.
+     */
+    void close();
+}
@@ -0,0 +1,232 @@
+package duke.dependencies.storage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.LongToIntFunction;
+
+import duke.dependencies.dukeexceptions.InvalidIndexException;
+import duke.dependencies.dukeexceptions.UnknownCommandException;
+
+/**
+ * Task numbers given to a done or delete command, kept as ranges so that a command naming thousands of tasks does
+ * not hold a number for each of them. Numbers start from 1, as they are shown in the list.
+ *
+ * The numbers are written as a list of parts separated by spaces or commas, each part being one of
+ * <ul>
+ *     <li>{@code N}, the task N,</li>
+ *     <li>{@code N-M}, the tasks N to M, both included,</li>
+ *     <li>{@code N-}, the task N and every task after it,</li>
+ *     <li>{@code all}, every task in the list,</li>
+ *     <li>{@code #id}, the task with the given id, in the 16 hexadecimal digits it is shown with.</li>
+ * </ul>
+ */
+public final class TaskSelection {
+
+    /** End of a range that goes on to the last task in the list. */
+    private static final int TO_END = Integer.MAX_VALUE;
+
+    /** First and last number of each range, in the order given. */
+    private final int[] froms;
+    private final int[] tos;
+    private final int count;
+
+    /** Ids given. */
+    private final long[] ids;
+
+    /** Message describing the mistake in the numbers as written, or null if there is none. */
+    private final String mistake;
+
+    private TaskSelection(int[] froms, int[] tos, int count, long[] ids, String mistake) {
+        this.froms = froms;
+        this.tos = tos;
+        this.count = count;
+        this.ids = ids;
+        this.mistake = mistake;
+    }
+
+    private static TaskSelection mistake(String message) {
+        return new TaskSelection(null, null, 0, null, message);
+    }
+
+    /**
+     * Parses the given task numbers.
+     *
+     * @param s Task numbers, as described in the class comment.
+     * @return The numbers parsed.
+     * @throws UnknownCommandException if the numbers are not written in that form.
+     */
+    public static TaskSelection parse(String s) throws UnknownCommandException {
+        TaskSelection selection = read(s);
+        if (selection.mistake != null) {
+            throw new UnknownCommandException(selection.mistake);
+        }
+        return selection;
+    }
+
+    /**
+     * Parses the given task numbers without throwing for a mistake in them, as the Parser does for every done and
+     * delete command.
+     *
+     * @param s Task numbers, as described in the class comment.
+     * @return The numbers parsed, or the mistake found in them if they are not {@link #isValid() valid}.
+     */
+    public static TaskSelection read(String s) {
+        int[] froms = new int[4];
+        int[] tos = new int[4];
+        int count = 0;
+        long[] ids = new long[0];
+        int i = 0;
+        int length = s.length();
+        while (true) {
+            while (i < length && isSeparator(s.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            if (s.charAt(i) == '#') {
+                int start = i;
+                long id = 0;
+                int digits = 0;
+                for (i++; i < length && !isSeparator(s.charAt(i)); i++, digits++) {
+                    int digit = Character.digit(s.charAt(i), 16);
+                    if (digit < 0 || digits == 16) {
+                        return mistake("Error: Not a task id: " + partAt(s, start));
+                    }
+                    id = (id << 4) | digit;
+                }
+                if (digits == 0) {
+                    return mistake("Error: Not a task id: #");
+                }
+                ids = Arrays.copyOf(ids, ids.length + 1);
+                ids[ids.length - 1] = id;
+                continue;
+            }
+            int from;
+            int to;
+            if (s.regionMatches(true, i, "all", 0, 3) && (i + 3 == length || isSeparator(s.charAt(i + 3)))) {
+                from = 1;
+                to = TO_END;
+                i += 3;
+            } else {
+                int start = i;
+                i = skipDigits(s, i);
+                from = toNumber(s, start, i);
+                to = from;
+                if (i < length && s.charAt(i) == '-') {
+                    int end = skipDigits(s, ++i);
+                    to = end == i ? TO_END : toNumber(s, i, end);
+                    i = end;
+                }
+                if (i < length && !isSeparator(s.charAt(i))) {
+                    return mistake("Error: Not a task number: " + partAt(s, start));
+                }
+                if (from < 1 || to < from) {
+                    return mistake("Error: Not a range of tasks: " + partAt(s, start));
+                }
+            }
+            if (count == froms.length) {
+                froms = Arrays.copyOf(froms, count * 2);
+                tos = Arrays.copyOf(tos, count * 2);
+            }
+            froms[count] = from;
+            tos[count] = to;
+            count++;
+        }
+        if (count == 0 && ids.length == 0) {
+            return mistake("Error: No task numbers given");
+        }
+        return new TaskSelection(froms, tos, count, ids, null);
+    }
+
+    /**
+     * Returns whether the numbers were written in the form described in the class comment.
+     */
+    public boolean isValid() {
+        return mistake == null;
+    }
+
+    /**
+     * Returns the message describing the mistake in the numbers as written.
+     * @return Message, in the form of the message of a DukeException, null if the numbers are valid.
+     */
+    public String getMistake() {
+        return mistake;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == ',' || c == '\t';
+    }
+
+    private static int skipDigits(String s, int i) {
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number written from start to end, or 0 if there is no digit there. Numbers too large for an int
+     * are taken as the largest int, which is never a task in the list.
+     */
+    private static int toNumber(String s, int start, int end) {
+        long n = 0;
+        for (int i = start; i < end && n < TO_END; i++) {
+            n = n * 10 + (s.charAt(i) - '0');
+        }
+        return (int) Math.min(n, TO_END - 1);
+    }
+
+    private static String partAt(String s, int start) {
+        int end = start;
+        while (end < s.length() && !isSeparator(s.charAt(end))) {
+            end++;
+        }
+        return s.substring(start, end);
+    }
+
+    /**
+     * Returns whether any task is given by its id.
+     */
+    boolean hasIds() {
+        return ids.length > 0;
+    }
+
+    /**
+     * Returns the positions, counted from 0, of the tasks selected in a list of the given size.
+     *
+     * @param size Number of tasks in the list.
+     * @param positionOfId Gives the position of the task with an id, or -1 if there is none. Only used if
+     *     {@link #hasIds()}.
+     * @param isEachOnce Whether a task may only be given once.
+     * @return Positions of the tasks selected.
+     * @throws InvalidIndexException if a task given is not in the list, or is given more than once when it may not.
+     */
+    BitSet resolve(int size, LongToIntFunction positionOfId, boolean isEachOnce) throws InvalidIndexException {
+        BitSet positions = new BitSet(size);
+        for (long id : ids) {
+            int position = positionOfId.applyAsInt(id);
+            if (position < 0) {
+                throw new InvalidIndexException("Error: There is no task " + IdIndex.format(id) + " in the list");
+            }
+            if (isEachOnce && positions.get(position)) {
+                throw new InvalidIndexException("Error: Task " + IdIndex.format(id) + " is given more than once");
+            }
+            positions.set(position);
+        }
+        for (int r = 0; r < count; r++) {
+            int from = froms[r];
+            int to = tos[r] == TO_END ? size : tos[r];
+            if (from > size || to > size) {
+                int missing = from > size ? from : to;
+                throw new InvalidIndexException("Error: There is no task " + missing + " in the list");
+            }
+            int again = positions.nextSetBit(from - 1);
+            if (isEachOnce && again >= 0 && again < to) {
+                throw new InvalidIndexException("Error: Task " + (again + 1) + " is given more than once");
+            }
+            positions.set(from - 1, to);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,82 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.TaskType;
+
+/**
+ * Snapshot of the number of tasks in the list, by type and by whether they are completed. The TaskList keeps these
+ * counts up to date as the list changes, so taking a snapshot does not go through the list.
+ */
+public final class TaskStats {
+
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private final int[] totals;
+    private final int[] completed;
+
+    /**
+     * Constructor for a snapshot of the given counts, indexed by the ordinal of the task type.
+     *
+     * @param totals Number of tasks of each type.
+     * @param completed Number of completed tasks of each type.
+     */
+    TaskStats(int[] totals, int[] completed) {
+        this.totals = totals.clone();
+        this.completed = completed.clone();
+    }
+
+    /**
+     * Returns a snapshot of an empty list.
+     */
+    static TaskStats empty() {
+        return new TaskStats(new int[TYPES.length], new int[TYPES.length]);
+    }
+
+    public int getTotal() {
+        int sum = 0;
+        for (int count : totals) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    public int getNumOfCompleted() {
+        int sum = 0;
+        for (int count : completed) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    public int getNumOfIncomplete() {
+        return getTotal() - getNumOfCompleted();
+    }
+
+    public int getTotal(TaskType type) {
+        return totals[type.ordinal()];
+    }
+
+    public int getNumOfCompleted(TaskType type) {
+        return completed[type.ordinal()];
+    }
+
+    /**
+     * Returns the breakdown by type, one line per type of task that can be added, followed by the totals.
+     *
+     * @return The breakdown, without a newline character at the end.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, "ToDo", getTotal(TaskType.TODO), getNumOfCompleted(TaskType.TODO));
+        appendLine(sb, "Event", getTotal(TaskType.EVENT), getNumOfCompleted(TaskType.EVENT));
+        appendLine(sb, "Deadline", getTotal(TaskType.DEADLINE), getNumOfCompleted(TaskType.DEADLINE));
+        appendLine(sb, "Total", getTotal(), getNumOfCompleted());
+        sb.setLength(sb.length() - 1);
+        return sb.toString();
+    }
+
+    private static void appendLine(StringBuilder sb, String name, int total, int done) {
+        sb.append(name).append(": ").append(total)
+                .append(" (").append(done).append(" completed, ").append(total - done).append(" left)\n");
+    }
+}
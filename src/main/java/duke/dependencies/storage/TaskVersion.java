@@ -0,0 +1,372 @@
+package duke.dependencies.storage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * One version of the task list, which is never changed once made. A change to the list makes a new version instead,
+ * so a thread reading a version sees the list as it was when it took that version, however the list changes since.
+ *
+ * The tasks of a version are held in pieces. A piece is either a range of the list loaded at start, read from it as
+ * needed, or a range of a chunk of at most {@link #CHUNK_SIZE} tasks made by changes. A new version shares every
+ * piece the change did not touch with the version it was made from, so a change copies the pieces it touches and the
+ * array of pieces, not the whole list. Adjacent pieces small enough to fit in one chunk are merged, which keeps the
+ * number of pieces within twice the number of tasks over {@link #CHUNK_SIZE}.
+ *
+ * Tasks held by a version are shared with later versions and should not be changed. Each task also keeps the
+ * sequence number it was given when added, for the indexes of the list to find it again.
+ */
+final class TaskVersion extends AbstractList<Schedulable> implements RandomAccess {
+
+    /** Largest number of tasks in a piece made by changes. */
+    static final int CHUNK_SIZE = 1024;
+
+    private static final Piece[] NO_PIECES = new Piece[0];
+
+    private final Piece[] pieces;
+
+    /** Position after the last task of each piece. */
+    private final int[] ends;
+
+    private final TaskStats stats;
+
+    private TaskVersion(Piece[] pieces, TaskStats stats) {
+        this.pieces = pieces;
+        this.ends = new int[pieces.length];
+        int end = 0;
+        for (int i = 0; i < pieces.length; i++) {
+            end += pieces[i].length;
+            ends[i] = end;
+        }
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the first version of a list, holding the tasks loaded. Their sequence numbers are their positions.
+     *
+     * @param loaded Tasks loaded, which should no longer be changed.
+     * @param stats Counts of the tasks loaded.
+     * @return The version.
+     */
+    static TaskVersion of(List<Schedulable> loaded, TaskStats stats) {
+        if (loaded.isEmpty()) {
+            return new TaskVersion(NO_PIECES, stats);
+        }
+        return new TaskVersion(new Piece[] {new Piece(loaded, null, 0, loaded.size())}, stats);
+    }
+
+    @Override
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    @Override
+    public Schedulable get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int p = pieceAt(index);
+        return pieces[p].get(index - startOf(p));
+    }
+
+    /**
+     * Returns the counts of the tasks in this version.
+     */
+    TaskStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the sequence number of the task at the given position.
+     */
+    int seqAt(int index) {
+        int p = pieceAt(index);
+        return pieces[p].seqAt(index - startOf(p));
+    }
+
+    /**
+     * Returns the position of the task with the given sequence number, or -1 if it is not in this version.
+     */
+    int positionOf(int seq) {
+        // Sequence numbers increase along the list, so the pieces are in the order of their first numbers.
+        int low = 0;
+        int high = pieces.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Piece piece = pieces[mid];
+            if (seq < piece.seqAt(0)) {
+                high = mid - 1;
+            } else if (seq > piece.seqAt(piece.length - 1)) {
+                low = mid + 1;
+            } else {
+                int local = piece.indexOf(seq);
+                return local < 0 ? -1 : startOf(mid) + local;
+            }
+        }
+        return -1;
+    }
+
+    private int pieceAt(int index) {
+        int found = Arrays.binarySearch(ends, index);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    private int startOf(int p) {
+        return p == 0 ? 0 : ends[p - 1];
+    }
+
+    /**
+     * Returns a new version with the given task added at the end.
+     *
+     * @param task Task to be added.
+     * @param seq Sequence number of the task, greater than that of every task before.
+     * @param stats Counts of the new version.
+     * @return The new version.
+     */
+    TaskVersion withAdded(Schedulable task, int seq, TaskStats stats) {
+        return withAllAdded(new Schedulable[] {task}, seq, stats);
+    }
+
+    /**
+     * Returns a new version with the given tasks added at the end, in order.
+     *
+     * @param tasks Tasks to be added.
+     * @param firstSeq Sequence number of the first task, greater than that of every task before. The tasks after it
+     *     are numbered on from it.
+     * @param stats Counts of the new version.
+     * @return The new version.
+     */
+    TaskVersion withAllAdded(Schedulable[] tasks, int firstSeq, TaskStats stats) {
+        Piece[] next = Arrays.copyOf(pieces, pieces.length + tasks.length / CHUNK_SIZE + 1);
+        int count = pieces.length;
+        for (int i = 0; i < tasks.length; i++) {
+            Piece last = count == 0 ? null : next[count - 1];
+            if (last != null && last.canAppend()) {
+                next[count - 1] = last.appended(tasks[i], firstSeq + i);
+                continue;
+            }
+            // Starts a chunk with room for the tasks added after this one, taking in the last piece if it is small.
+            Chunk chunk = new Chunk(CHUNK_SIZE);
+            if (last != null && last.length < CHUNK_SIZE) {
+                for (int j = 0; j < last.length; j++) {
+                    chunk.append(last.get(j), last.seqAt(j));
+                }
+                count--;
+            }
+            chunk.append(tasks[i], firstSeq + i);
+            next[count++] = new Piece(null, chunk, 0, chunk.used);
+        }
+        return new TaskVersion(count == next.length ? next : Arrays.copyOf(next, count), stats);
+    }
+
+    /**
+     * Returns a new version with the tasks at the given positions replaced.
+     *
+     * @param positions Positions to be replaced, distinct and in increasing order.
+     * @param tasks Task to be put at each of the positions.
+     * @param stats Counts of the new version.
+     * @return The new version.
+     */
+    TaskVersion withReplaced(int[] positions, Schedulable[] tasks, TaskStats stats) {
+        Pieces result = new Pieces(pieces.length + 2);
+        int next = 0;
+        for (int p = 0; p < pieces.length; p++) {
+            Piece piece = pieces[p];
+            int start = startOf(p);
+            int first = next;
+            while (next < positions.length && positions[next] < ends[p]) {
+                next++;
+            }
+            if (first == next) {
+                result.add(piece);
+                continue;
+            }
+            // Copies each run of the piece holding positions close together, and shares the rest of it.
+            int shared = 0;
+            int run = first;
+            while (run < next) {
+                int runEnd = run + 1;
+                while (runEnd < next && positions[runEnd] - positions[runEnd - 1] < CHUNK_SIZE) {
+                    runEnd++;
+                }
+                int from = positions[run] - start;
+                int to = positions[runEnd - 1] - start + 1;
+                result.add(piece.slice(shared, from));
+                int r = run;
+                for (int chunkFrom = from; chunkFrom < to; chunkFrom += CHUNK_SIZE) {
+                    Chunk chunk = new Chunk(Math.min(CHUNK_SIZE, to - chunkFrom));
+                    for (int i = chunkFrom; i < chunkFrom + chunk.tasks.length; i++) {
+                        boolean isReplaced = r < runEnd && positions[r] - start == i;
+                        chunk.append(isReplaced ? tasks[r++] : piece.get(i), piece.seqAt(i));
+                    }
+                    result.add(new Piece(null, chunk, 0, chunk.used));
+                }
+                shared = to;
+                run = runEnd;
+            }
+            result.add(piece.slice(shared, piece.length));
+        }
+        return new TaskVersion(result.toArray(), stats);
+    }
+
+    /**
+     * Returns a new version without the tasks at the given positions.
+     *
+     * @param positions Positions to be removed, distinct and in increasing order.
+     * @param stats Counts of the new version.
+     * @return The new version.
+     */
+    TaskVersion withRemoved(int[] positions, TaskStats stats) {
+        Pieces result = new Pieces(pieces.length + 2);
+        int next = 0;
+        for (int p = 0; p < pieces.length; p++) {
+            Piece piece = pieces[p];
+            int start = startOf(p);
+            int kept = 0;
+            while (next < positions.length && positions[next] < ends[p]) {
+                int local = positions[next++] - start;
+                result.add(piece.slice(kept, local));
+                kept = local + 1;
+            }
+            result.add(kept == 0 ? piece : piece.slice(kept, piece.length));
+        }
+        return new TaskVersion(result.toArray(), stats);
+    }
+
+    /**
+     * Pieces of a version being made, merging adjacent ones that fit in one chunk. The pieces to be merged are
+     * collected until the next one would not fit, and only then copied into their chunk, each task once.
+     */
+    private static final class Pieces {
+        private final List<Piece> pieces;
+
+        /** Adjacent pieces not yet added, holding at most {@link #CHUNK_SIZE} tasks together. */
+        private final List<Piece> run = new ArrayList<>();
+        private int runLength = 0;
+
+        private Pieces(int capacity) {
+            pieces = new ArrayList<>(capacity);
+        }
+
+        void add(Piece piece) {
+            if (piece.length == 0) {
+                return;
+            }
+            if (runLength + piece.length > CHUNK_SIZE) {
+                flushRun();
+            }
+            run.add(piece);
+            runLength += piece.length;
+        }
+
+        private void flushRun() {
+            if (run.size() == 1) {
+                pieces.add(run.get(0));
+            } else if (run.size() > 1) {
+                pieces.add(Piece.merge(run, runLength));
+            }
+            run.clear();
+            runLength = 0;
+        }
+
+        Piece[] toArray() {
+            flushRun();
+            return pieces.toArray(NO_PIECES);
+        }
+    }
+
+    /**
+     * Tasks made by changes, with their sequence numbers. Pieces share a chunk by holding ranges of it. Tasks are
+     * only ever added after the last one in use, which no version holds yet, so the ranges held never change.
+     */
+    private static final class Chunk {
+        private final Schedulable[] tasks;
+        private final int[] seqs;
+        private int used = 0;
+
+        private Chunk(int capacity) {
+            tasks = new Schedulable[capacity];
+            seqs = new int[capacity];
+        }
+
+        void append(Schedulable task, int seq) {
+            tasks[used] = task;
+            seqs[used] = seq;
+            used++;
+        }
+    }
+
+    /**
+     * A range of tasks of a list, which is never changed. The tasks are either a range of the list loaded, or a
+     * range of a chunk.
+     */
+    private static final class Piece {
+        private final List<Schedulable> loaded;
+        private final Chunk chunk;
+        private final int from;
+        private final int length;
+
+        private Piece(List<Schedulable> loaded, Chunk chunk, int from, int length) {
+            this.loaded = loaded;
+            this.chunk = chunk;
+            this.from = from;
+            this.length = length;
+        }
+
+        Schedulable get(int i) {
+            return chunk == null ? loaded.get(from + i) : chunk.tasks[from + i];
+        }
+
+        /**
+         * Returns the sequence number of the i-th task. That of a task of the list loaded is its position in it.
+         */
+        int seqAt(int i) {
+            return chunk == null ? from + i : chunk.seqs[from + i];
+        }
+
+        int indexOf(int seq) {
+            if (chunk == null) {
+                return seq - from;
+            }
+            int found = Arrays.binarySearch(chunk.seqs, from, from + length, seq);
+            return found < 0 ? -1 : found - from;
+        }
+
+        /**
+         * Returns whether a task can be added after this piece in its chunk.
+         */
+        boolean canAppend() {
+            return chunk != null && from + length == chunk.used && chunk.used < chunk.tasks.length;
+        }
+
+        Piece appended(Schedulable task, int seq) {
+            chunk.append(task, seq);
+            return new Piece(null, chunk, from, length + 1);
+        }
+
+        /**
+         * Returns the tasks of this piece from position start to end, sharing what this piece holds.
+         */
+        Piece slice(int start, int end) {
+            return new Piece(loaded, chunk, from + start, end - start);
+        }
+
+        /**
+         * Returns a piece holding the tasks of the given pieces in order, copied into a chunk of their own.
+         */
+        static Piece merge(List<Piece> pieces, int length) {
+            Chunk chunk = new Chunk(length);
+            for (Piece piece : pieces) {
+                for (int i = 0; i < piece.length; i++) {
+                    chunk.append(piece.get(i), piece.seqAt(i));
+                }
+            }
+            return new Piece(null, chunk, 0, chunk.used);
+        }
+    }
+}
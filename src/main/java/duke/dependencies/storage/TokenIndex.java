@@ -0,0 +1,274 @@
+package duke.dependencies.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Inverted index from the words of each task to the tasks containing them, used to answer find queries without
+ * going through the whole list. Tasks are known by a sequence number, given out in increasing order as they are
+ * added, so every posting list is kept sorted simply by appending to it.
+ *
+ * Words are the runs of letters and digits in the description and date of a task, compared ignoring case. A query
+ * word matches every word it is part of, e.g. "eet" matches "meeting". To find those words without going through
+ * all of them, each word known to the index is also indexed by its trigrams, the runs of three characters in it.
+ * The words sharing every trigram of the query word are the candidates, which are then checked in full.
+ */
+class TokenIndex implements ListIndex {
+
+    private static final int GRAM = 3;
+
+    /** Every word in the index, by the number it was given when first seen. Null once no task has it. */
+    private String[] words = new String[16];
+    private int nextWordId = 0;
+
+    /** Number given to each word currently in the index. */
+    private final HashMap<String, Integer> wordIds = new HashMap<>();
+
+    /** Tasks having each word, by the number of the word. */
+    private final HashMap<Integer, Postings> tasksOfWord = new HashMap<>();
+
+    /** Words having each trigram, by the three characters of the trigram packed into a long. */
+    private final HashMap<Long, Postings> wordsOfTrigram = new HashMap<>();
+
+    /**
+     * Indexes the words of the given task.
+     *
+     * @param seq Sequence number of the task, greater than that of every task indexed before.
+     * @param task Task to be indexed.
+     */
+    @Override
+    public void add(int seq, Schedulable task) {
+        for (String word : tokenize(textOf(task))) {
+            Integer id = wordIds.get(word);
+            if (id == null) {
+                id = newWord(word);
+            }
+            tasksOfWord.get(id).append(seq);
+        }
+    }
+
+    private int newWord(String word) {
+        int id = nextWordId++;
+        if (id == words.length) {
+            words = Arrays.copyOf(words, id * 2);
+        }
+        words[id] = word;
+        wordIds.put(word, id);
+        tasksOfWord.put(id, new Postings());
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            wordsOfTrigram.computeIfAbsent(trigramAt(word, i), t -> new Postings()).append(id);
+        }
+        return id;
+    }
+
+    /**
+     * Removes the given task from the index.
+     *
+     * @param seq Sequence number the task was indexed with.
+     * @param task Task to be removed, unchanged since it was indexed.
+     */
+    @Override
+    public void remove(int seq, Schedulable task) {
+        for (String word : tokenize(textOf(task))) {
+            Integer id = wordIds.get(word);
+            if (id == null) {
+                continue;
+            }
+            Postings tasks = tasksOfWord.get(id);
+            if (tasks.remove(seq) && tasks.size == 0) {
+                removeWord(word, id);
+            }
+        }
+    }
+
+    /**
+     * Removes the given tasks from the index, going once through the tasks of each of their words however many of
+     * the tasks have it.
+     *
+     * @param seqs Sequence numbers the tasks were indexed with, in increasing order.
+     * @param tasks Tasks to be removed, unchanged since they were indexed, in the same order.
+     */
+    @Override
+    public void removeAll(int[] seqs, Schedulable[] tasks) {
+        // Tasks are gathered by word first, in increasing order as they are taken in that order.
+        HashMap<Integer, Postings> removedOfWord = new HashMap<>();
+        for (int i = 0; i < seqs.length; i++) {
+            for (String word : tokenize(textOf(tasks[i]))) {
+                Integer id = wordIds.get(word);
+                if (id != null) {
+                    removedOfWord.computeIfAbsent(id, w -> new Postings()).append(seqs[i]);
+                }
+            }
+        }
+        for (Map.Entry<Integer, Postings> entry : removedOfWord.entrySet()) {
+            int id = entry.getKey();
+            Postings removed = entry.getValue();
+            Postings left = tasksOfWord.get(id);
+            if (left.removeAll(removed.seqs, removed.size) > 0 && left.size == 0) {
+                removeWord(words[id], id);
+            }
+        }
+    }
+
+    private void removeWord(String word, int id) {
+        words[id] = null;
+        wordIds.remove(word);
+        tasksOfWord.remove(id);
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            Long trigram = trigramAt(word, i);
+            Postings p = wordsOfTrigram.get(trigram);
+            if (p != null && p.remove(id) && p.size == 0) {
+                wordsOfTrigram.remove(trigram);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        words = new String[16];
+        nextWordId = 0;
+        wordIds.clear();
+        tasksOfWord.clear();
+        wordsOfTrigram.clear();
+    }
+
+    /**
+     * Returns the sequence numbers of the tasks in which every one of the given query words is part of some word,
+     * in increasing order.
+     *
+     * @param query Words to look for, as returned by {@link #tokenize(String)}.
+     * @return Sequence numbers of the tasks matching.
+     */
+    int[] find(List<String> query) {
+        int[] matches = null;
+        for (String part : query) {
+            int[] tasks = tasksWithPart(part);
+            matches = matches == null ? tasks : intersect(matches, tasks);
+            if (matches.length == 0) {
+                break;
+            }
+        }
+        return matches == null ? new int[0] : matches;
+    }
+
+    /**
+     * Returns the sequence numbers of the tasks having a word that contains the given part, in increasing order.
+     */
+    private int[] tasksWithPart(String part) {
+        int[] candidates = wordsWithPart(part);
+        BitSet union = null;
+        int[] only = null;
+        for (int id : candidates) {
+            if (words[id] == null || !words[id].contains(part)) {
+                continue;
+            }
+            Postings tasks = tasksOfWord.get(id);
+            if (only == null && union == null) {
+                // Most parts are found in a single word, whose tasks need no merging.
+                only = Arrays.copyOf(tasks.seqs, tasks.size);
+                continue;
+            }
+            if (union == null) {
+                union = new BitSet();
+                for (int seq : only) {
+                    union.set(seq);
+                }
+            }
+            for (int i = 0; i < tasks.size; i++) {
+                union.set(tasks.seqs[i]);
+            }
+        }
+        if (union != null) {
+            return union.stream().toArray();
+        }
+        return only == null ? new int[0] : only;
+    }
+
+    /**
+     * Returns the numbers of the words sharing every trigram of the given part, in increasing order. For parts too
+     * short to have a trigram, every word is returned.
+     */
+    private int[] wordsWithPart(String part) {
+        if (part.length() < GRAM) {
+            int[] all = new int[nextWordId];
+            for (int id = 0; id < nextWordId; id++) {
+                all[id] = id;
+            }
+            return all;
+        }
+        Postings[] lists = new Postings[part.length() - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = wordsOfTrigram.get(trigramAt(part, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        // Start from the shortest list, so that every other list is only probed for what is left.
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] candidates = Arrays.copyOf(lists[0].seqs, lists[0].size);
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, Arrays.copyOf(lists[i].seqs, lists[i].size));
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the numbers found in both sorted arrays, in increasing order.
+     */
+    private static int[] intersect(int[] few, int[] many) {
+        if (few.length > many.length) {
+            return intersect(many, few);
+        }
+        int[] both = new int[few.length];
+        int count = 0;
+        int from = 0;
+        for (int n : few) {
+            int found = Arrays.binarySearch(many, from, many.length, n);
+            if (found >= 0) {
+                both[count++] = n;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return Arrays.copyOf(both, count);
+    }
+
+    private static long trigramAt(String word, int i) {
+        return ((long) word.charAt(i) << 32) | ((long) word.charAt(i + 1) << 16) | word.charAt(i + 2);
+    }
+
+    private static String textOf(Schedulable task) {
+        return task.showTaskDescription() + " " + task.getRawDateString();
+    }
+
+    /**
+     * Returns the words in the given text, lower-cased, in the order they appear.
+     *
+     * @param text Text to be split.
+     * @return Words in the text. Empty if it has no letters or digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+}
@@ -0,0 +1,36 @@
+package duke.dependencies.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Keeps the files of a saved list that could not be read, by moving them aside instead of deleting them, so that
+ * the list can still be recovered by hand, or by a later version of Duke.
+ */
+final class UnreadableFiles {
+
+    /** Ending of the names of the files moved aside. */
+    static final String SUFFIX = ".corrupt";
+
+    private UnreadableFiles() {}
+
+    /**
+     * Moves each of the given files that is present aside, to a name ending in the time it was moved followed by
+     * {@link #SUFFIX}, and tells the user where they are.
+     *
+     * @param files Files of the list that could not be read.
+     * @throws IOException if a file could not be moved. The files not yet moved are left in place.
+     */
+    static void setAside(List<Path> files) throws IOException {
+        String suffix = "." + System.currentTimeMillis() + SUFFIX;
+        for (Path file : files) {
+            if (Files.exists(file)) {
+                Path aside = file.resolveSibling(file.getFileName() + suffix);
+                Files.move(file, aside);
+                System.out.println("Your unreadable saved list was kept as " + aside);
+            }
+        }
+    }
+}
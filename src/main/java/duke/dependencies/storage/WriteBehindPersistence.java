@@ -0,0 +1,87 @@
+package duke.dependencies.storage;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import duke.dependencies.task.Schedulable;
+
+/**
+ * Saves the whole task list like {@link SnapshotPersistence}, but off the thread making the change. A change only
+ * marks the list as unsaved; a background thread then saves it once the delay of the {@link DurabilityPolicy} has
+ * passed, so a burst of changes within the delay costs a single save. Unsaved changes are saved when the list is
+ * closed, or when the JVM shuts down should the list never be closed.
+ *
+ * The lists given to save are versions of the TaskList, which are never changed once made, so the latest one is
+ * saved as it is, without being copied or locked.
+ */
+class WriteBehindPersistence extends SnapshotPersistence {
+
+    private final DurabilityPolicy policy;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "duke-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Thread shutdownHook = new Thread(this::flush, "duke-write-behind-shutdown");
+
+    /** Held through a whole flush so that an older copy of the list is never saved over a newer one. */
+    private final Object flushLock = new Object();
+
+    /** List with unsaved changes, null if everything is saved. Guarded by this. */
+    private List<Schedulable> unsaved;
+
+    /** Whether a flush is already waiting to run. Guarded by this. */
+    private boolean isFlushScheduled = false;
+
+    WriteBehindPersistence(Storage storage, DurabilityPolicy policy) {
+        super(storage);
+        this.policy = policy;
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    protected void save(List<Schedulable> tasks) {
+        synchronized (this) {
+            unsaved = tasks;
+            if (policy.isOnShutdownOnly() || isFlushScheduled) {
+                return;
+            }
+            isFlushScheduled = true;
+        }
+        flusher.schedule(this::flush, policy.getDelayMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves the list if it has unsaved changes.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            List<Schedulable> tasks;
+            synchronized (this) {
+                tasks = unsaved;
+                unsaved = null;
+                isFlushScheduled = false;
+            }
+            if (tasks == null) {
+                return;
+            }
+            l.overwriteAndSaveTasks(tasks);
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook saves nothing more.
+        }
+        super.close();
+    }
+}
@@ -24,4 +24,34 @@ public interface Schedulable {
      */
     String showTaskDescription();
 
+    /**
+     * Gets the kind of the task.
+     * @return TaskType of the task.
+     */
+    TaskType getType();
+
+    /**
+     * Gets the date of the task exactly as the user has given it.
+     * @return Date string, empty if the task has no date.
+     */
+    String getRawDateString();
+
+    /**
+     * Gets the date of the task.
+     * @return TaskDate of the task, null if the task has no date.
+     */
+    TaskDate getTaskDate();
+
+    /**
+     * Gets the id of the task, which it keeps for as long as it is in the list, across restarts.
+     * @return Id of the task, 0 if it has not been given one yet.
+     */
+    long getId();
+
+    /**
+     * Appends the task as it is shown in the list to the given StringBuilder.
+     * @param sb StringBuilder to append to.
+     */
+    void appendTo(StringBuilder sb);
+
 }
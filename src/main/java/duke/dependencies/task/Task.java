@@ -8,12 +8,24 @@ import static duke.dependencies.task.CompletionState.*;
  * Represents a task, something that is associated with a given Executable/command from the user.
  */
 public abstract class Task implements Serializable, Schedulable {
+    /**
+     * Kept as it was in the first versions of Duke, which saved the list with Java serialization, so that the lists
+     * they saved can still be read. The same goes for each of the subclasses.
+     */
+    private static final long serialVersionUID = 6422518629425513811L;
+
     protected CompletionState state;
     protected String task;
 
+    /** Id given by the list the Task is added to, saved with the Task. 0 until then. */
+    private long id;
+
     private static final String TICK = "\u2713";
     private static final String CROSS = "\u274c";
 
+    /** This Task as it is shown, made the first time it is asked for and dropped when the Task changes. */
+    private transient String line;
+
     protected Task(String task) {
         this.task = task;
         this.state = UNFINISHED;
@@ -21,6 +33,28 @@ public abstract class Task implements Serializable, Schedulable {
 
     abstract String getDateString();
 
+    /**
+     * Returns the kind of this Task.
+     * @return TaskType of this Task.
+     */
+    public abstract TaskType getType();
+
+    /**
+     * Returns the date exactly as the user has given it, which is what is displayed for the Task.
+     * @return Date string as given by the user, empty if the Task has no date.
+     */
+    public String getRawDateString() {
+        return "";
+    }
+
+    /**
+     * Returns the date of this Task.
+     * @return TaskDate of this Task, null if the Task has no date.
+     */
+    public TaskDate getTaskDate() {
+        return null;
+    }
+
     /**
      * Returns whether the Task has a given date/deadline which is represented by a TaskDate object.
      * @return True if the Task has a Task Date.
@@ -37,6 +71,26 @@ public abstract class Task implements Serializable, Schedulable {
         return this.task;
     }
 
+    /**
+     * Returns the id of this Task, which it keeps for as long as it is in the list, across restarts.
+     * @return Id of this Task, 0 if it has not been given one yet.
+     */
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gives this Task its id. Called once, by the list the Task is added to, or when the Task is read back with the
+     * id it was saved with.
+     *
+     * @param id Id of this Task, greater than 0.
+     */
+    public void giveId(long id) {
+        assert id > 0 && this.id == 0;
+        this.id = id;
+    }
+
     /**
      * Returns whether the Task is an empty Task.
      * @return True if it is empty.
@@ -62,6 +116,7 @@ public abstract class Task implements Serializable, Schedulable {
      */
     public void completed() {
         this.state = COMPLETED;
+        this.line = null;
     }
 
     /**
@@ -72,6 +127,87 @@ public abstract class Task implements Serializable, Schedulable {
         return state == COMPLETED;
     }
 
+    /**
+     * Appends this Task as it is shown to the given StringBuilder, without making a String of it unless it has been
+     * made already.
+     *
+     * @param sb StringBuilder to append to.
+     */
+    @Override
+    public void appendTo(StringBuilder sb) {
+        String shown = line;
+        if (shown == null) {
+            render(sb);
+        } else {
+            sb.append(shown);
+        }
+    }
+
+    /**
+     * Returns this Task as it is shown, e.g. "[ToDo][?] read book". The String is kept until the Task changes.
+     * @return String representation of this Task.
+     */
+    @Override
+    public String toString() {
+        String shown = line;
+        if (shown == null) {
+            StringBuilder sb = new StringBuilder();
+            render(sb);
+            shown = sb.toString();
+            line = shown;
+        }
+        return shown;
+    }
+
+    /**
+     * Appends this Task as it is shown to the given StringBuilder.
+     */
+    abstract void render(StringBuilder sb);
+
+    /**
+     * Appends the start of a task as it is shown, up to its description, e.g. "[ToDo][?] ". Lists keeping their
+     * tasks in another form use it to show them the same way without making a Task of them.
+     *
+     * @param sb StringBuilder to append to.
+     * @param type Type of the task.
+     * @param isCompleted Whether the task is completed.
+     */
+    public static void appendHead(StringBuilder sb, TaskType type, boolean isCompleted) {
+        sb.append('[').append(labelOf(type)).append("][").append(isCompleted ? TICK : CROSS).append("] ");
+    }
+
+    /**
+     * Appends the end of a task as it is shown, after its description, e.g. " (at: 2020-08-05)". Nothing is
+     * appended for a todo.
+     *
+     * @param sb StringBuilder to append to.
+     * @param type Type of the task.
+     * @param date Date string as given by the user.
+     */
+    public static void appendTail(StringBuilder sb, TaskType type, String date) {
+        switch (type) {
+        case EVENT:
+            sb.append(" (at: ").append(date).append(')');
+            break;
+        case DEADLINE:
+            sb.append(" (by: ").append(date).append(')');
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static String labelOf(TaskType type) {
+        switch (type) {
+        case TODO:
+            return "ToDo";
+        case EVENT:
+            return "Event";
+        default:
+            return "Deadline";
+        }
+    }
+
     /* -------------------------- Static factory methods to create different Tasks ----------------------- */
 
     /**
@@ -126,9 +262,52 @@ public abstract class Task implements Serializable, Schedulable {
         return new Deadlines(task, date);
     }
 
+    /**
+     * Returns a task of the given type. Used to rebuild tasks that were saved without Java serialization.
+     *
+     * @param type Type of the task.
+     * @param task String describing the task.
+     * @param date Date string as given by the user. Ignored for todo tasks.
+     * @return Task of the given type.
+     */
+    public static Task createOfType(TaskType type, String task, String date) {
+        switch (type) {
+        case TODO:
+            return createTodo(task);
+        case EVENT:
+            return createEvent(task, date);
+        case DEADLINE:
+            return createDeadline(task, date);
+        default:
+            return createMiscTask(task);
+        }
+    }
+
+    /**
+     * Returns a task of the given type with an already parsed date, so that the date string is not parsed again.
+     *
+     * @param type Type of the task.
+     * @param task String describing the task.
+     * @param date Date string as given by the user. Ignored for todo tasks.
+     * @param taskDate The date string parsed. Ignored for todo tasks.
+     * @return Task of the given type.
+     */
+    public static Task createOfType(TaskType type, String task, String date, TaskDate taskDate) {
+        switch (type) {
+        case EVENT:
+            return new Events(task, date, taskDate);
+        case DEADLINE:
+            return new Deadlines(task, date, taskDate);
+        default:
+            return createOfType(type, task, date);
+        }
+    }
+
     /* ----------------------------------------------- Subclasses---------------------------------------------------- */
 
     private static class EmptyTask extends Task{
+        private static final long serialVersionUID = 2759092287446623633L;
+
 
         private EmptyTask() {
             super(null);
@@ -140,18 +319,25 @@ public abstract class Task implements Serializable, Schedulable {
             return "";
         }
 
+        @Override
+        public TaskType getType() {
+            return TaskType.MISC;
+        }
+
         @Override
         public boolean isItEmpty() {
             return true;
         }
 
         @Override
-        public String toString() {
-            return "There is nothing here to see...";
+        void render(StringBuilder sb) {
+            sb.append("There is nothing here to see...");
         }
     }
 
     private static class DoneTask extends Task{ // Should be Misc Task not Done Task
+        private static final long serialVersionUID = -5260802354652064370L;
+
 
         private DoneTask(String nums) {
             super(nums);
@@ -168,25 +354,51 @@ public abstract class Task implements Serializable, Schedulable {
             return true;
         }
 
+        @Override
+        public TaskType getType() {
+            return TaskType.MISC;
+        }
+
         @Override
         public boolean isMiscTask() {
             return true;
         }
 
         @Override
-        public String toString() {
-            return "There is nothing here to see...";
+        void render(StringBuilder sb) {
+            sb.append("There is nothing here to see...");
         }
     }
 
     private static class Events extends Task {
+        private static final long serialVersionUID = 8236853681644850680L;
+
         private String date;
         private TaskDate tDate;
 
         private Events(String task, String date) {
+            this(task, date, new TaskDate(date));
+        }
+
+        private Events(String task, String date, TaskDate tDate) {
             super(task);
             this.date = date;
-            this.tDate = new TaskDate(date);
+            this.tDate = tDate;
+        }
+
+        @Override
+        public TaskType getType() {
+            return TaskType.EVENT;
+        }
+
+        @Override
+        public String getRawDateString() {
+            return this.date;
+        }
+
+        @Override
+        public TaskDate getTaskDate() {
+            return this.tDate;
         }
 
         @Override
@@ -200,42 +412,66 @@ public abstract class Task implements Serializable, Schedulable {
         }
 
         @Override
-        public String toString() {
-            return String.format(
-                    "[Event][%s] %s (at: %s)", super.state == UNFINISHED ? CROSS
-                            : TICK,
-                    super.task,
-                    date);
+        void render(StringBuilder sb) {
+            appendHead(sb, TaskType.EVENT, isCompleted());
+            sb.append(super.task);
+            appendTail(sb, TaskType.EVENT, date);
         }
     }
 
     private static class ToDos extends Task {
+        private static final long serialVersionUID = -5884112913967631063L;
+
         private ToDos(String task) {
             super(task);
         }
 
+        @Override
+        public TaskType getType() {
+            return TaskType.TODO;
+        }
+
         @Override
         public String getDateString() {
             return "";
         }
 
         @Override
-        public String toString() {
-            return String.format(
-                    "[ToDo][%s] %s", super.state == UNFINISHED ? CROSS
-                            : TICK,
-                    super.task);
+        void render(StringBuilder sb) {
+            appendHead(sb, TaskType.TODO, isCompleted());
+            sb.append(super.task);
         }
     }
 
     private static class Deadlines extends Task {
+        private static final long serialVersionUID = -4948837163697566895L;
+
         private String deadline;
         private TaskDate tDate;
 
         private Deadlines(String task, String deadline) {
+            this(task, deadline, new TaskDate(deadline));
+        }
+
+        private Deadlines(String task, String deadline, TaskDate tDate) {
             super(task);
             this.deadline = deadline;
-            this.tDate = new TaskDate(deadline);
+            this.tDate = tDate;
+        }
+
+        @Override
+        public TaskType getType() {
+            return TaskType.DEADLINE;
+        }
+
+        @Override
+        public String getRawDateString() {
+            return this.deadline;
+        }
+
+        @Override
+        public TaskDate getTaskDate() {
+            return this.tDate;
         }
 
         @Override
@@ -249,12 +485,10 @@ public abstract class Task implements Serializable, Schedulable {
         }
 
         @Override
-        public String toString() {
-            return String.format(
-                    "[Deadline][%s] %s (by: %s)", super.state == UNFINISHED ? CROSS
-                            : TICK,
-                    super.task,
-                    deadline);
+        void render(StringBuilder sb) {
+            appendHead(sb, TaskType.DEADLINE, isCompleted());
+            sb.append(super.task);
+            appendTail(sb, TaskType.DEADLINE, deadline);
         }
     }
 
@@ -3,7 +3,10 @@ package duke.dependencies.task;
 import java.io.Serializable;
 import java.time.format.DateTimeFormatter;
 import java.time.LocalDate;
+import java.time.Year;
 import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 
 /**
@@ -12,9 +15,35 @@ import java.time.format.DateTimeParseException;
  *
  */
 public class TaskDate implements Serializable, Comparable<TaskDate> {
+    /**
+     * Kept as it was in the first versions of Duke, so that the lists they saved with Java serialization can still
+     * be read.
+     */
+    private static final long serialVersionUID = 8973225229034342213L;
+
     /** Some common format for dates */
     private static final DateTimeFormatter UK_DATE_FORMAT = DateTimeFormatter.ofPattern("d/M/y");
 
+    /** Format dates are shown in. Formatters are immutable, so one is made for all of them. */
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd uuuu");
+
+    /** Days in each month of a year that is not a leap year, January first. */
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /** Number of dates whose parsing by DateTimeFormatter is remembered. */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Dates parsed by DateTimeFormatter, least recently used first, null for a string that is not a date. Only
+     * dates written in an unusual way are parsed that way, so this is seldom used.
+     */
+    private static final Map<String, LocalDate> PARSED = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LocalDate> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     /** LocalDate object to be used to parse. */
     private final LocalDate date;
 
@@ -25,19 +54,19 @@ public class TaskDate implements Serializable, Comparable<TaskDate> {
      * @return true if date format is valid, false if date format is not valid
      */
     public static boolean isValidFormat(String date) {
-        try {
-            if (date.contains("/")) {
-                System.out.println(date);
-                LocalDate.parse(date, UK_DATE_FORMAT);
-            } else {
-                LocalDate.parse(date);
-            }
-            return true;
-        } catch (DateTimeParseException e) {
-
-            return false;
+        return parse(date) != null;
+    }
 
-        }
+    /**
+     * Returns the TaskDate of the given date string, or null if it is not in a format that Duke accepts. Checking
+     * a date this way parses it once, both to check it and to make the TaskDate.
+     *
+     * @param date date string
+     * @return TaskDate of the date, null if date format is not valid
+     */
+    public static TaskDate tryParse(String date) {
+        LocalDate parsed = parse(date);
+        return parsed == null ? null : new TaskDate(parsed);
     }
 
     /**
@@ -47,13 +76,126 @@ public class TaskDate implements Serializable, Comparable<TaskDate> {
      * 2. uuuu-MM-dd
      *
      * @param date date string in correct format
+     * @throws DateTimeParseException if the date string is not in correct format
      */
     public TaskDate(String date) {
-        if (date.contains("/")) {
-            this.date = LocalDate.parse(date, UK_DATE_FORMAT);
-        } else {
-            this.date = LocalDate.parse(date);
+        LocalDate parsed = parse(date);
+        if (parsed == null) {
+            throw new DateTimeParseException("Text '" + date + "' could not be parsed", date, 0);
         }
+        this.date = parsed;
+    }
+
+    /**
+     * Parses a date in either format, or returns null if it is in neither, or is too far off to be saved. Dates are
+     * saved as a number of days from 1970-01-01 in an int, which reaches some 5.8 million years either way.
+     */
+    private static LocalDate parse(String date) {
+        LocalDate parsed = parseEitherFormat(date);
+        if (parsed == null) {
+            return null;
+        }
+        long epochDay = parsed.toEpochDay();
+        return epochDay >= Integer.MIN_VALUE && epochDay <= Integer.MAX_VALUE ? parsed : null;
+    }
+
+    /**
+     * Parses a date in either format, or returns null if it is in neither. Dates written the usual way, "d/M/yyyy"
+     * with a day and month of one or two digits, or "yyyy-MM-dd", are read by hand. Others are left to
+     * DateTimeFormatter, which gives the same result for all of them.
+     */
+    private static LocalDate parseEitherFormat(String date) {
+        int length = date.length();
+        if (length == 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+            int year = digits(date, 0, 4);
+            int month = digits(date, 5, 7);
+            int day = digits(date, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                // The ISO format does not accept a day past the end of its month.
+                boolean isValid = month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+                return isValid ? LocalDate.of(year, month, day) : null;
+            }
+        }
+        int firstSlash = date.indexOf('/');
+        int secondSlash = firstSlash < 0 ? -1 : date.indexOf('/', firstSlash + 1);
+        if (secondSlash >= 0 && firstSlash <= 2 && secondSlash - firstSlash <= 3 && length - secondSlash == 5) {
+            int day = digits(date, 0, firstSlash);
+            int month = digits(date, firstSlash + 1, secondSlash);
+            int year = digits(date, secondSlash + 1, length);
+            if (day >= 0 && month >= 0 && year >= 0) {
+                if (day < 1 || day > 31 || month < 1 || month > 12 || year < 1) {
+                    return null;
+                }
+                // "d/M/y" gives the last day of the month for a day past its end, as DateTimeFormatter does.
+                return LocalDate.of(year, month, Math.min(day, lengthOfMonth(year, month)));
+            }
+        }
+        return parseUnusual(date);
+    }
+
+    /**
+     * Returns the number written with the digits from start to end, or -1 if there is no digit or something else
+     * is there.
+     */
+    private static int digits(String s, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            n = n * 10 + (c - '0');
+        }
+        return n;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return month == 2 && Year.isLeap(year) ? 29 : DAYS_IN_MONTH[month - 1];
+    }
+
+    private static LocalDate parseUnusual(String date) {
+        synchronized (PARSED) {
+            LocalDate cached = PARSED.get(date);
+            if (cached != null || PARSED.containsKey(date)) {
+                return cached;
+            }
+        }
+        LocalDate parsed;
+        try {
+            parsed = date.contains("/") ? LocalDate.parse(date, UK_DATE_FORMAT) : LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            parsed = null;
+        }
+        synchronized (PARSED) {
+            PARSED.put(date, parsed);
+        }
+        return parsed;
+    }
+
+    private TaskDate(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * Returns the TaskDate for the given day, counted from 1970-01-01 as day 0.
+     *
+     * @param epochDay Day count from 1970-01-01.
+     * @return TaskDate of that day.
+     */
+    public static TaskDate ofEpochDay(long epochDay) {
+        return new TaskDate(LocalDate.ofEpochDay(epochDay));
+    }
+
+    /**
+     * Returns this date as a day count from 1970-01-01, which is day 0.
+     *
+     * @return Day count from 1970-01-01.
+     */
+    public long toEpochDay() {
+        return date.toEpochDay();
     }
 
     /**
@@ -77,7 +219,16 @@ public class TaskDate implements Serializable, Comparable<TaskDate> {
      */
     @Override
     public String toString() {
-        return date.format(DateTimeFormatter.ofPattern("MMM dd uuuu"));
+        return DISPLAY_FORMAT.format(date);
+    }
+
+    /**
+     * Appends the date in the format of {@link #toString()} to the given StringBuilder.
+     *
+     * @param sb StringBuilder to append to.
+     */
+    public void appendTo(StringBuilder sb) {
+        DISPLAY_FORMAT.formatTo(date, sb);
     }
 
 
@@ -0,0 +1,9 @@
+package duke.dependencies.task;
+
+/**
+ * Indicates the kind of a Task. Used when a Task has to be written out and rebuilt without going through
+ * Java serialization.
+ */
+public enum TaskType {
+    TODO, EVENT, DEADLINE, MISC
+}
@@ -11,6 +11,8 @@ import javafx.scene.image.Image;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CompletableFuture;
+
 public class MainWindow extends Application {
 
     /* JAVAFX Main GUI Elements */
@@ -26,6 +28,9 @@ public class MainWindow extends Application {
 
     private Duke duke;
 
+    /** Completes once the reply to the last input has been handed to the JavaFX thread to be shown. */
+    private CompletableFuture<Void> lastResponseShown = CompletableFuture.completedFuture(null);
+
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/pipicon.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/https _specials-images.forbesimg.com_imageserve_5c76b7d331358e35dd2773a9_0x0.jpg background=000000&cropX1=0&cropX2=4401&cropY1=0&cropY2=4401.jpg"));
 
@@ -48,15 +53,19 @@ public class MainWindow extends Application {
     /**
      * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
      * the dialog container. Clears the user input after processing.
+     *
+     * The input is echoed at once, and the reply is appended once the command is carried out, so that the window
+     * stays responsive during a long command. Replies are appended in the order the inputs were given.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = duke.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        dialogContainer.getChildren().add(DialogBox.getUserDialog(input, userImage));
+        CompletableFuture<String> response = duke.getResponseAsync(input);
+        lastResponseShown = lastResponseShown
+                .thenCompose(shown -> response)
+                .thenAccept(reply -> Platform.runLater(() ->
+                        dialogContainer.getChildren().add(DialogBox.getDukeDialog(reply, dukeImage))));
         userInput.clear();
     }
 
@@ -0,0 +1,182 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DukeServerTest {
+
+    private static final String WELCOME_START = "Pipboy here.";
+
+    /**
+     * Conversation that counts its lines, replies with a leading dot to "dots", and ends on "bye".
+     */
+    private static DukeServer.Session countingSession() {
+        return new DukeServer.Session() {
+            private int count = 0;
+            private boolean isOver = false;
+
+            @Override
+            public String reply(String input) {
+                count++;
+                isOver = input.equals("bye");
+                if (input.equals("dots")) {
+                    return ".hidden\n\n..two";
+                }
+                if (input.equals("fail")) {
+                    throw new IllegalStateException("broken");
+                }
+                return count + ": " + input;
+            }
+
+            @Override
+            public boolean isOver() {
+                return isOver;
+            }
+        };
+    }
+
+    /**
+     * Client of the server, reading replies in the form the server sends them.
+     */
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        Client(DukeServer server) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            socket.setSoTimeout(10_000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        String readReply() throws IOException {
+            List<String> lines = new ArrayList<>();
+            String line;
+            while (!(line = in.readLine()).equals(".")) {
+                lines.add(line.startsWith(".") ? line.substring(1) : line);
+            }
+            return String.join("\n", lines);
+        }
+
+        String ask(String command) throws IOException {
+            out.write(command + "\n");
+            out.flush();
+            return readReply();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void test_ask_repliesInOrder() throws Exception {
+        DukeServer server = DukeServer.start(0, 4, 10_000, DukeServerTest::countingSession);
+        try (Client client = new Client(server)) {
+            assertTrue(client.readReply().startsWith(WELCOME_START));
+            assertEquals("1: list", client.ask("list"));
+            assertEquals("2: find book", client.ask("find book"));
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    void test_ask_linesStartingWithDotKept() throws Exception {
+        DukeServer server = DukeServer.start(0, 4, 10_000, DukeServerTest::countingSession);
+        try (Client client = new Client(server)) {
+            client.readReply();
+            assertEquals(".hidden\n\n..two", client.ask("dots"));
+            assertEquals("Something went wrong while I was working on that: broken", client.ask("fail"));
+            assertEquals("3: still here", client.ask("still here"));
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    void test_sessions_keepOwnState() throws Exception {
+        DukeServer server = DukeServer.start(0, 4, 10_000, DukeServerTest::countingSession);
+        try (Client first = new Client(server); Client second = new Client(server)) {
+            first.readReply();
+            second.readReply();
+            assertEquals("1: a", first.ask("a"));
+            assertEquals("2: b", first.ask("b"));
+            assertEquals("1: c", second.ask("c"));
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    void test_bye_closesConnection() throws Exception {
+        DukeServer server = DukeServer.start(0, 4, 10_000, DukeServerTest::countingSession);
+        try (Client client = new Client(server)) {
+            client.readReply();
+            assertEquals("1: bye", client.ask("bye"));
+            assertNull(client.in.readLine());
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    void test_maxConnections_laterConnectionWaits() throws Exception {
+        DukeServer server = DukeServer.start(0, 1, 10_000, DukeServerTest::countingSession);
+        try (Client first = new Client(server); Client second = new Client(server)) {
+            first.readReply();
+            // Connected, but not served until the first conversation ends.
+            second.socket.setSoTimeout(300);
+            assertThrows(SocketTimeoutException.class, second.in::readLine);
+            first.ask("bye");
+            second.socket.setSoTimeout(10_000);
+            assertTrue(second.readReply().startsWith(WELCOME_START));
+            assertEquals("1: hello", second.ask("hello"));
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    void test_idleTimeout_closesConnection() throws Exception {
+        DukeServer server = DukeServer.start(0, 1, 200, DukeServerTest::countingSession);
+        try (Client client = new Client(server)) {
+            client.readReply();
+            assertNull(client.in.readLine());
+            // The permit of the closed conversation is given back.
+            try (Client next = new Client(server)) {
+                assertTrue(next.readReply().startsWith(WELCOME_START));
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    void test_close_endsConversations() throws Exception {
+        DukeServer server = DukeServer.start(0, 4, 10_000, DukeServerTest::countingSession);
+        try (Client client = new Client(server)) {
+            client.readReply();
+            server.close();
+            assertNull(client.in.readLine());
+        }
+    }
+}
@@ -15,4 +15,9 @@ class DukeExceptionTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_DukeException_noStackTrace() {
+        assertEquals(0, new DukeException("test").getStackTrace().length);
+    }
+
+}
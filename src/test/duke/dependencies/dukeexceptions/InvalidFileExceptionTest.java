@@ -0,0 +1,18 @@
+package duke.dependencies.dukeexceptions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvalidFileExceptionTest {
+
+    @Test
+    public void test_InvalidFileException_Message() {
+        try {
+            throw new InvalidFileException("test");
+        } catch (InvalidFileException e) {
+            assertEquals("test", e.getMessage());
+        }
+    }
+
+}
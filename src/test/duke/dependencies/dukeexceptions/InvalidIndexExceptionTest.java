@@ -0,0 +1,18 @@
+package duke.dependencies.dukeexceptions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvalidIndexExceptionTest {
+
+    @Test
+    public void test_InvalidIndexException_Message() {
+        try {
+            throw new InvalidIndexException("test");
+        } catch (InvalidIndexException e) {
+            assertEquals("test", e.getMessage());
+        }
+    }
+
+}
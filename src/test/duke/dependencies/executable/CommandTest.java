@@ -4,6 +4,7 @@ import duke.dependencies.task.Task;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
@@ -24,7 +25,7 @@ public class CommandTest {
 
     @Test
     void test_createDoneCommand() {
-        Executable e = Command.createDoneCommand(Task.createEmptyTask());
+        Executable e = Command.createDoneCommand(Task.createEmptyTask(), null);
         assertEquals(CommandType.DONE, e.getType());
     }
 
@@ -36,7 +37,21 @@ public class CommandTest {
 
     @Test
     void test_createDeleteCommand() {
-        Executable e = Command.createDeleteCommand(Task.createEmptyTask());
+        Executable e = Command.createDeleteCommand(Task.createEmptyTask(), null);
         assertEquals(CommandType.DELETE, e.getType());
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_createStatsCommand() {
+        Executable e = Command.createStatsCommand(null);
+        assertEquals(CommandType.STATS, e.getType());
+    }
+
+    @Test
+    void test_createDateCommands() {
+        assertAll(() -> assertEquals(CommandType.DUE, Command.createDueCommand(null, null).getType()),
+                () -> assertEquals(CommandType.BETWEEN, Command.createBetweenCommand(null, null, null).getType()),
+                () -> assertEquals(CommandType.UPCOMING, Command.createUpcomingCommand(null, 5).getType()),
+                () -> assertEquals(5, Command.createUpcomingCommand(null, 5).getCount()));
+    }
+}
@@ -0,0 +1,156 @@
+package duke.dependencies.executor;
+
+import duke.dependencies.executable.CommandType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandPipelineTest {
+
+    @Test
+    void test_submit_changesInOrderOnOneThread() throws Exception {
+        CommandPipeline pipeline = new CommandPipeline(64, 2);
+        List<String> done = new ArrayList<>();
+        List<CompletableFuture<String>> replies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String name = "task " + i;
+            replies.add(pipeline.submit(CommandType.ADD, () -> {
+                done.add(name);
+                return Thread.currentThread().getName();
+            }));
+        }
+        // A read waits for the changes given before it.
+        CompletableFuture<String> count = pipeline.submit(CommandType.LIST, () -> String.valueOf(done.size()));
+        assertEquals("50", count.get(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            assertEquals("task " + i, done.get(i));
+            assertEquals(replies.get(0).get(), replies.get(i).get());
+        }
+        pipeline.close();
+    }
+
+    @Test
+    void test_submit_readsNotHeldUpByLaterChanges() throws Exception {
+        CommandPipeline pipeline = new CommandPipeline(64, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> change = pipeline.submit(CommandType.IMPORT, () -> {
+            await(release);
+            return "imported";
+        });
+        CompletableFuture<String> read = pipeline.submit(CommandType.STATS, () -> "stats");
+        // The read waits for the import given before it.
+        assertFalse(read.isDone());
+        release.countDown();
+        assertEquals("imported", change.get(10, TimeUnit.SECONDS));
+        assertEquals("stats", read.get(10, TimeUnit.SECONDS));
+
+        CountDownLatch releaseAgain = new CountDownLatch(1);
+        CompletableFuture<String> blocked = pipeline.submit(CommandType.DELETE, () -> {
+            await(releaseAgain);
+            return "deleted";
+        });
+        // Given after the delete, but does not wait for the delete to finish before it.
+        CompletableFuture<String> find = pipeline.submit(CommandType.FIND, () -> "found");
+        assertFalse(find.isDone());
+        releaseAgain.countDown();
+        assertEquals("deleted", blocked.get(10, TimeUnit.SECONDS));
+        assertEquals("found", find.get(10, TimeUnit.SECONDS));
+        pipeline.close();
+    }
+
+    @Test
+    void test_submit_fullQueue_failsWithoutRunning() throws Exception {
+        CommandPipeline pipeline = new CommandPipeline(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = pipeline.submit(CommandType.ADD, () -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<String> waiting = pipeline.submit(CommandType.ADD, () -> "second");
+        boolean[] isRun = new boolean[1];
+        CompletableFuture<String> rejected = pipeline.submit(CommandType.ADD, () -> {
+            isRun[0] = true;
+            return "third";
+        });
+        ExecutionException thrown = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(thrown.getCause() instanceof RejectedExecutionException);
+        release.countDown();
+        assertEquals("first", running.get(10, TimeUnit.SECONDS));
+        assertEquals("second", waiting.get(10, TimeUnit.SECONDS));
+        pipeline.close();
+        assertFalse(isRun[0]);
+    }
+
+    @Test
+    void test_submit_readsWaitingForChange_bounded() throws Exception {
+        CommandPipeline pipeline = new CommandPipeline(2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> change = pipeline.submit(CommandType.IMPORT, () -> {
+            await(release);
+            return "imported";
+        });
+        // Room for the reads queued for the reader, and for the one it carries out.
+        List<CompletableFuture<String>> reads = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            reads.add(pipeline.submit(CommandType.LIST, () -> "listed"));
+        }
+        CompletableFuture<String> rejected = pipeline.submit(CommandType.FIND, () -> "found");
+        ExecutionException thrown = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(thrown.getCause() instanceof RejectedExecutionException);
+        release.countDown();
+        assertEquals("imported", change.get(10, TimeUnit.SECONDS));
+        for (CompletableFuture<String> read : reads) {
+            assertEquals("listed", read.get(10, TimeUnit.SECONDS));
+        }
+        // Permits are given back once the reads are carried out.
+        assertEquals("found", pipeline.submit(CommandType.FIND, () -> "found").get(10, TimeUnit.SECONDS));
+        pipeline.close();
+    }
+
+    @Test
+    void test_close_carriesOutCommandsGivenBefore() throws Exception {
+        CommandPipeline pipeline = new CommandPipeline(64, 2);
+        List<Integer> done = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            pipeline.submit(CommandType.DONE, () -> {
+                done.add(n);
+                return "";
+            });
+        }
+        pipeline.close();
+        assertEquals(20, done.size());
+    }
+
+    @Test
+    void test_isReadOnly() {
+        assertTrue(CommandPipeline.isReadOnly(CommandType.LIST));
+        assertTrue(CommandPipeline.isReadOnly(CommandType.BETWEEN));
+        assertFalse(CommandPipeline.isReadOnly(CommandType.ADD));
+        assertFalse(CommandPipeline.isReadOnly(CommandType.CLEAR));
+        assertFalse(CommandPipeline.isReadOnly(CommandType.IMPORT));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
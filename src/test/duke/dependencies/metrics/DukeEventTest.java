@@ -0,0 +1,66 @@
+package duke.dependencies.metrics;
+
+import duke.dependencies.executable.CommandType;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DukeEventTest {
+
+    @Test
+    void test_end_withoutRecording_doesNothing() {
+        DukeEvent event = new DukeEvent.Execute();
+        event.begin();
+        event.end(CommandType.ADD, 3, 10);
+    }
+
+    @Test
+    void test_end_recordsFields() throws Exception {
+        Path file = Files.createTempFile("duke", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("duke.Parse").withoutThreshold();
+            recording.enable("duke.Persist").withoutThreshold();
+            recording.start();
+
+            DukeEvent parse = new DukeEvent.Parse();
+            parse.begin();
+            parse.end(CommandType.FIND, 42, 9);
+            DukeEvent persist = new DukeEvent.Persist("add all");
+            persist.begin();
+            persist.end(null, 1000, 123456);
+            // Not enabled by the recording.
+            DukeEvent execute = new DukeEvent.Execute();
+            execute.begin();
+            execute.end(CommandType.ADD, 1, 1);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertEquals(2, events.size());
+
+        RecordedEvent parse = events.get(0);
+        assertEquals("duke.Parse", parse.getEventType().getName());
+        assertEquals("FIND", parse.getString("commandType"));
+        assertEquals(42, parse.getInt("listSize"));
+        assertEquals(9, parse.getLong("bytes"));
+        assertTrue(parse.getEventType().getCategoryNames().contains("Duke"));
+
+        RecordedEvent persist = events.get(1);
+        assertEquals("duke.Persist", persist.getEventType().getName());
+        assertNull(persist.getString("commandType"));
+        assertEquals("add all", persist.getString("change"));
+        assertEquals(123456, persist.getLong("bytes"));
+    }
+}
@@ -3,6 +3,7 @@ package duke.dependencies.parser;
 import duke.dependencies.dukeexceptions.DukeException;
 import duke.dependencies.executable.CommandType;
 import duke.dependencies.executable.Executable;
+import duke.dependencies.task.TaskDate;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,4 +27,107 @@ class ParserTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void test_parseAndCheck_listPage() throws DukeException {
+        Executable all = Parser.parseAndCheck("list").getExecutable();
+        Executable page = Parser.parseAndCheck("list size 5 page 3").getExecutable();
+        Executable first = Parser.parseAndCheck("list size 5").getExecutable();
+
+        assertAll(() -> assertFalse(all.getTask().isMiscTask()),
+                () -> assertEquals(CommandType.LIST, page.getType()),
+                () -> assertEquals("3 5", page.getTask().showTaskDescription()),
+                () -> assertEquals(3, page.getPage()),
+                () -> assertEquals(5, page.getPageSize()),
+                () -> assertEquals(0, all.getPage()),
+                () -> assertTrue(Parser.parseAndCheck("list ids").getExecutable().isShowingIds()),
+                () -> assertEquals("1 5", first.getTask().showTaskDescription()),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("list page")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("list page 0")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("list colour 2")),
+                () -> assertEquals("ids", Parser.parseAndCheck("list ids").getExecutable()
+                        .getTask().showTaskDescription()),
+                () -> assertEquals("2 20 ids", Parser.parseAndCheck("list ids page 2").getExecutable()
+                        .getTask().showTaskDescription()),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("done #xyz")),
+                () -> assertEquals("#00ff", Parser.parseAndCheck("done #00ff").getExecutable()
+                        .getTask().showTaskDescription()));
+    }
+
+    @Test
+    void test_parseAndCheck_dateQueries() throws DukeException {
+        Executable due = Parser.parseAndCheck("due before 2020-09-01").getExecutable();
+        Executable between = Parser.parseAndCheck("between 2020-09-01 2020-09-30").getExecutable();
+        Executable upcoming = Parser.parseAndCheck("upcoming").getExecutable();
+
+        assertAll(() -> assertEquals(CommandType.DUE, due.getType()),
+                () -> assertEquals("2020-09-01", due.getTask().showTaskDescription()),
+                () -> assertEquals(CommandType.BETWEEN, between.getType()),
+                () -> assertEquals("2020-09-01 2020-09-30", between.getTask().showTaskDescription()),
+                () -> assertEquals(0, between.getFromDate().compareTo(new TaskDate("2020-09-01"))),
+                () -> assertEquals(0, between.getToDate().compareTo(new TaskDate("2020-09-30"))),
+                () -> assertEquals(0, due.getToDate().compareTo(new TaskDate("2020-09-01"))),
+                () -> assertEquals(5, upcoming.getCount()),
+                () -> assertEquals("5", upcoming.getTask().showTaskDescription()),
+                () -> assertEquals("3", Parser.parseAndCheck("upcoming 3").getExecutable()
+                        .getTask().showTaskDescription()),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("due before")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("due before someday")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("between 2020-09-01")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("upcoming 0")));
+    }
+
+    @Test
+    void test_parseAndCheck_firstWordChoosesCommand() throws DukeException {
+        Executable todo = Parser.parseAndCheck("todo make a list").getExecutable();
+        Executable event = Parser.parseAndCheck("  EVENT Meeting /at 2020-08-05").getExecutable();
+
+        assertAll(() -> assertEquals(CommandType.ADD, todo.getType()),
+                () -> assertEquals("make a list", todo.getTask().showTaskDescription()),
+                () -> assertEquals("Meeting", event.getTask().showTaskDescription()),
+                () -> assertEquals("2020-08-05", event.getTask().getRawDateString()),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("event Meeting")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("please list")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("todolist")),
+                () -> assertThrows(DukeException.class, () -> Parser.parseAndCheck("")));
+    }
+
+    @Test
+    void test_parse_returnsMistakes() {
+        ParseResult valid = Parser.parse("deadline return book /by 2020-09-01");
+
+        assertAll(() -> assertTrue(valid.isSuccess()),
+                () -> assertNull(valid.getError()),
+                () -> assertEquals(CommandType.ADD, valid.getExecutable().getType()),
+                () -> assertEquals(ParseError.EMPTY_TASK, Parser.parse("todo   ").getError()),
+                () -> assertEquals(ParseError.UNSPECIFIED_DATE, Parser.parse("deadline return book").getError()),
+                () -> assertEquals(ParseError.INVALID_DATE, Parser.parse("event talk /at 31/31/2020").getError()),
+                () -> assertEquals(ParseError.INVALID_DATE, Parser.parse("event far /at 1/1/9999999").getError()),
+                () -> assertEquals(ParseError.UNKNOWN_COMMAND, Parser.parse("list page two").getError()),
+                () -> assertEquals("Error: Not a number: two", Parser.parse("list page two").getMessage()),
+                () -> assertThrows(IllegalStateException.class, () -> Parser.parse("dance").getExecutable()));
+    }
+
+    @Test
+    void test_parseAndCheck_import() throws DukeException {
+        Executable all = Parser.parseAndCheck("import tasks.txt").getExecutable();
+        Executable partial = Parser.parseAndCheck("import my tasks.txt --partial").getExecutable();
+
+        assertAll(() -> assertEquals(CommandType.IMPORT, all.getType()),
+                () -> assertEquals("all tasks.txt", all.getTask().showTaskDescription()),
+                () -> assertEquals("partial my tasks.txt", partial.getTask().showTaskDescription()),
+                () -> assertEquals("my tasks.txt", partial.getFileName()),
+                () -> assertTrue(partial.isPartial()),
+                () -> assertFalse(all.isPartial()),
+                () -> assertEquals("partial tasks.txt", Parser.parseAndCheck("import --partial tasks.txt")
+                        .getExecutable().getTask().showTaskDescription()),
+                () -> assertEquals(ParseError.EMPTY_TASK, Parser.parse("import --partial").getError()));
+    }
+
+    @Test
+    void test_checkForWord_wholeWordsIgnoringCase() {
+        assertAll(() -> assertTrue(Parser.checkForWord("taskdata.DAT", ".dat")),
+                () -> assertTrue(Parser.checkForWord("taskdata.dat", ".dat")),
+                () -> assertFalse(Parser.checkForWord("taskdata.txt", ".dat")),
+                () -> assertFalse(Parser.checkForWord("taskdata.data", ".dat")));
+    }
+}
@@ -0,0 +1,78 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarTaskListTest {
+
+    private static List<Schedulable> tasks(int count) {
+        List<Schedulable> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+            case 0:
+                tasks.add(Task.createTodo("Task " + i));
+                break;
+            case 1:
+                tasks.add(Task.createEvent("Café " + i, "2020-08-05"));
+                break;
+            default:
+                tasks.add(Task.createDeadline("Essay " + i, "20/08/2020"));
+                break;
+            }
+            if (i % 4 == 0) {
+                tasks.get(i).completed();
+            }
+            ((Task) tasks.get(i)).giveId(i + 1);
+        }
+        return tasks;
+    }
+
+    private static void assertSameTasks(List<Schedulable> expected, List<Schedulable> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getTaskDate() == null, actual.get(i).getTaskDate() == null);
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+    }
+
+    @Test
+    void test_copyOf_keepsTasks() {
+        List<Schedulable> tasks = tasks(100);
+        ColumnarTaskList list = ColumnarTaskList.copyOf(tasks);
+        assertAll(() -> assertSameTasks(tasks, list),
+                () -> assertEquals("20/08/2020", list.get(2).getRawDateString()),
+                () -> assertEquals(tasks.get(1).getTaskDate().toEpochDay(), list.get(1).getTaskDate().toEpochDay()));
+    }
+
+    @Test
+    void test_appendTo_sameAsTask() {
+        List<Schedulable> tasks = tasks(30);
+        tasks.add(Task.createDeadline("Far off", "9999-12-31"));
+        ColumnarTaskList list = ColumnarTaskList.copyOf(tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            StringBuilder expected = new StringBuilder();
+            StringBuilder actual = new StringBuilder();
+            tasks.get(i).appendTo(expected);
+            list.get(i).appendTo(actual);
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    void test_changes_notSupported() {
+        ColumnarTaskList list = ColumnarTaskList.copyOf(tasks(5));
+        assertAll(() -> assertThrows(UnsupportedOperationException.class, () -> list.add(Task.createTodo("New"))),
+                () -> assertThrows(UnsupportedOperationException.class, () -> list.remove(0)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> list.get(1).completed()));
+    }
+}
@@ -0,0 +1,53 @@
+package duke.dependencies.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompactionTest {
+
+    @Test
+    void test_removePositions_list() {
+        List<String> list = new ArrayList<>(Arrays.asList("a", "b", "c", "d", "e", "f"));
+        Compaction.removePositions(list, new int[] {0, 2, 3, 5});
+        assertEquals(Arrays.asList("b", "e"), list);
+
+        Compaction.removePositions(list, new int[0]);
+        assertEquals(Arrays.asList("b", "e"), list);
+    }
+
+    @Test
+    void test_removePositions_array() {
+        int[] array = {10, 11, 12, 13, 14, 15, 99};
+        int length = Compaction.removePositions(array, 6, new int[] {1, 2, 5});
+        assertEquals(3, length);
+        assertArrayEquals(new int[] {10, 13, 14}, Arrays.copyOf(array, length));
+    }
+
+    @Test
+    void test_removePositions_largeBatch() {
+        List<Integer> list = new ArrayList<>();
+        int[] array = new int[100_000];
+        for (int i = 0; i < array.length; i++) {
+            list.add(i);
+            array[i] = i;
+        }
+        int[] evens = new int[array.length / 2];
+        for (int i = 0; i < evens.length; i++) {
+            evens[i] = i * 2;
+        }
+        Compaction.removePositions(list, evens);
+        int length = Compaction.removePositions(array, array.length, evens);
+        assertEquals(evens.length, list.size());
+        assertEquals(evens.length, length);
+        for (int i = 0; i < length; i++) {
+            assertEquals(i * 2 + 1, (int) list.get(i));
+            assertEquals(i * 2 + 1, array[i]);
+        }
+    }
+}
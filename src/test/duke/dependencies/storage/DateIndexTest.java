@@ -0,0 +1,68 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskDate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DateIndexTest {
+
+    private static final Schedulable[] TASKS = {
+        Task.createEvent("Meeting", "2020-09-10"),
+        Task.createTodo("Read book"),
+        Task.createDeadline("Essay", "2020-09-01"),
+        Task.createEvent("Talk", "2020-09-10"),
+        Task.createDeadline("Report", "2020-10-01"),
+    };
+
+    private static DateIndex indexAll() {
+        DateIndex index = new DateIndex();
+        for (int seq = 0; seq < TASKS.length; seq++) {
+            index.add(seq, TASKS[seq]);
+        }
+        return index;
+    }
+
+    private static List<Integer> between(DateIndex index, String from, String to, int limit) {
+        List<Integer> seqs = new ArrayList<>();
+        index.forEachBetween(new TaskDate(from).toEpochDay(),
+                new TaskDate(to).toEpochDay(), seq -> {
+                    seqs.add(seq);
+                    return seqs.size() < limit;
+                });
+        return seqs;
+    }
+
+    @Test
+    void test_forEachBetween_inDateOrder() {
+        DateIndex index = indexAll();
+        assertAll(() -> assertEquals(List.of(2, 0, 3, 4), between(index, "2020-01-01", "2020-12-31", 10)),
+                () -> assertEquals(List.of(2, 0, 3), between(index, "2020-09-01", "2020-09-10", 10)),
+                () -> assertEquals(List.of(2, 0), between(index, "2020-01-01", "2020-12-31", 2)),
+                () -> assertEquals(List.of(), between(index, "2020-09-11", "2020-09-30", 10)),
+                () -> assertEquals(List.of(), between(index, "2020-12-31", "2020-01-01", 10)));
+    }
+
+    @Test
+    void test_remove_keepsOthers() {
+        DateIndex index = indexAll();
+        index.remove(0, TASKS[0]);
+        index.remove(1, TASKS[1]);
+        index.remove(4, TASKS[4]);
+        assertEquals(List.of(2, 3), between(index, "2020-01-01", "2020-12-31", 10));
+    }
+
+    @Test
+    void test_removeAll_keepsOthers() {
+        DateIndex index = indexAll();
+        index.removeAll(new int[] {0, 1, 3, 4}, new Schedulable[] {TASKS[0], TASKS[1], TASKS[3], TASKS[4]});
+        assertEquals(List.of(2), between(index, "2020-01-01", "2020-12-31", 10));
+    }
+}
@@ -0,0 +1,32 @@
+package duke.dependencies.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurabilityPolicyTest {
+
+    @Test
+    void test_parse_everyNms() {
+        DurabilityPolicy p = DurabilityPolicy.parse("every-250-ms");
+        assertAll(() -> assertEquals(250, p.getDelayMillis()),
+                () -> assertFalse(p.isSyncEveryOp()),
+                () -> assertFalse(p.isOnShutdownOnly()));
+    }
+
+    @Test
+    void test_parse_onShutdown() {
+        assertTrue(DurabilityPolicy.parse("on-shutdown").isOnShutdownOnly());
+    }
+
+    @Test
+    void test_parse_invalidFallsBackToSyncEveryOp() {
+        assertAll(() -> assertTrue(DurabilityPolicy.parse("sync-every-op").isSyncEveryOp()),
+                () -> assertTrue(DurabilityPolicy.parse("every-0-ms").isSyncEveryOp()),
+                () -> assertTrue(DurabilityPolicy.parse("every-x-ms").isSyncEveryOp()),
+                () -> assertTrue(DurabilityPolicy.parse("sometimes").isSyncEveryOp()));
+    }
+}
@@ -0,0 +1,56 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdIndexTest {
+
+    private static Task withId(String description, long id) {
+        Task task = Task.createTodo(description);
+        task.giveId(id);
+        return task;
+    }
+
+    @Test
+    void test_add_sameContent_ownIds() {
+        IdIndex index = new IdIndex();
+        index.add(0, withId("Read book", 3));
+        index.add(1, withId("Read book", 8));
+        index.add(2, Task.createTodo("Not added to a list"));
+
+        assertAll(() -> assertEquals(3, index.idOf(0)),
+                () -> assertEquals(8, index.idOf(1)),
+                () -> assertEquals(1, index.seqOf(8)),
+                () -> assertEquals(0, index.idOf(2)),
+                () -> assertEquals(-1, index.seqOf(0)));
+    }
+
+    @Test
+    void test_remove_othersStillFound() {
+        IdIndex index = new IdIndex();
+        int count = 10000;
+        for (int seq = 0; seq < count; seq++) {
+            index.add(seq, withId("Task " + seq, seq * 31L + 1));
+        }
+        long[] ids = new long[count];
+        for (int seq = 0; seq < count; seq++) {
+            ids[seq] = index.idOf(seq);
+        }
+        for (int seq = 0; seq < count; seq += 3) {
+            index.remove(seq, null);
+        }
+        for (int seq = 0; seq < count; seq++) {
+            assertEquals(seq % 3 == 0 ? -1 : seq, index.seqOf(ids[seq]));
+        }
+    }
+
+    @Test
+    void test_format_sixteenDigits() {
+        assertAll(() -> assertEquals("#00000000000000ff", IdIndex.format(255)),
+                () -> assertEquals("#ffffffffffffffff", IdIndex.format(-1)));
+    }
+}
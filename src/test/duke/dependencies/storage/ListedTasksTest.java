@@ -0,0 +1,70 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListedTasksTest {
+
+    private static final TaskStats STATS = new TaskStats(new int[] {40, 0, 0, 0}, new int[] {0, 0, 0, 0});
+
+    @Test
+    void test_render_numberedLines() {
+        Schedulable a = Task.createTodo("a");
+        Schedulable b = Task.createTodo("b");
+        ListedTasks.Builder builder = new ListedTasks.Builder(false);
+        builder.add(3, a, 0);
+        builder.add(7, b, 0);
+        ListedTasks listed = builder.build(STATS);
+        assertEquals("3. " + a + "\n7. " + b, listed.render("none"));
+        assertEquals(7, listed.getNumber(1));
+        assertFalse(listed.hasIds());
+    }
+
+    @Test
+    void test_render_idsAfterNumbers() {
+        Schedulable a = Task.createTodo("a");
+        ListedTasks.Builder builder = new ListedTasks.Builder(true);
+        builder.add(1, a, 26);
+        ListedTasks listed = builder.build(STATS);
+        assertEquals("#000000000000001a", listed.getId(0));
+        assertEquals("1. #000000000000001a " + a, listed.render("none"));
+    }
+
+    @Test
+    void test_render_pageFooter() {
+        ListedTasks.Builder builder = new ListedTasks.Builder(false);
+        for (int i = 11; i <= 20; i++) {
+            builder.add(i, Task.createTodo("t" + i), 0);
+        }
+        String rendered = builder.buildPage(STATS, 2, 4).render("none");
+        assertTrue(rendered.endsWith("\n20. " + Task.createTodo("t20") + "\nPage 2 of 4 (tasks 11-20 of 40)"));
+    }
+
+    @Test
+    void test_render_emptyAndUnnumbered() {
+        assertEquals("none", new ListedTasks.Builder(false).build(STATS).render("none"));
+        Schedulable a = Task.createTodo("a");
+        ListedTasks listed = ListedTasks.unnumbered(new Schedulable[] {a}, STATS);
+        assertFalse(listed.isNumbered());
+        assertEquals(a.toString(), listed.render("none"));
+        assertEquals(40, listed.getStats().getTotal());
+    }
+
+    @Test
+    void test_builder_growsPastInitialCapacity() {
+        ListedTasks.Builder builder = new ListedTasks.Builder(true);
+        for (int i = 0; i < 100; i++) {
+            builder.add(i + 1, Task.createTodo("t" + i), i);
+        }
+        ListedTasks listed = builder.build(STATS);
+        assertEquals(100, listed.size());
+        assertEquals(100, listed.getNumber(99));
+        assertEquals(IdIndex.format(99), listed.getId(99));
+    }
+}
@@ -0,0 +1,113 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+import duke.dependencies.task.TaskType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PagedTaskListTest {
+
+    private Path dir;
+    private Path dataPath;
+    private Path indexPath;
+    private PagedTaskList paged;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("duke-paged");
+        dataPath = dir.resolve("taskdata.txt");
+        indexPath = dir.resolve("taskdata.txt.idx");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (paged != null) {
+            paged.close();
+        }
+        Files.deleteIfExists(dataPath);
+        Files.deleteIfExists(indexPath);
+        Files.deleteIfExists(dir);
+    }
+
+    private List<Schedulable> save(int count) throws IOException {
+        List<Schedulable> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(i % 2 == 0 ? Task.createTodo("Task " + i) : Task.createEvent("Event " + i, "2020-08-05"));
+            if (i % 3 == 0) {
+                tasks.get(i).completed();
+            }
+            ((Task) tasks.get(i)).giveId(i * 2L + 1);
+        }
+        TaskIndex index = new TaskIndex();
+        try (FileChannel fc = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            TaskCodec.write(tasks, fc, index);
+        }
+        index.writeTo(indexPath, dataPath);
+        return tasks;
+    }
+
+    private PagedTaskList open(int cacheSize) throws IOException {
+        paged = PagedTaskList.open(dataPath, TaskIndex.readFrom(indexPath, dataPath), cacheSize);
+        return paged;
+    }
+
+    @Test
+    void test_open_countsFromIndex() throws IOException {
+        save(1000);
+        PagedTaskList list = open(16);
+        TaskStats stats = list.getSavedStats();
+        assertAll(() -> assertEquals(1000, list.size()),
+                () -> assertEquals(334, stats.getNumOfCompleted()),
+                () -> assertEquals(500, stats.getTotal(TaskType.EVENT)),
+                () -> assertEquals(167, stats.getNumOfCompleted(TaskType.TODO)),
+                () -> assertEquals(2000, list.getSavedNextId()),
+                () -> assertFalse(list.isMissingIds()));
+    }
+
+    @Test
+    void test_get_readsTasksAsSaved() throws IOException {
+        List<Schedulable> tasks = save(1000);
+        PagedTaskList list = open(16);
+        for (int i = tasks.size() - 1; i >= 0; i -= 7) {
+            assertEquals(tasks.get(i).toString(), list.get(i).toString());
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), list.get(i).toString());
+            assertEquals(tasks.get(i).getId(), list.get(i).getId());
+        }
+    }
+
+    @Test
+    void test_changes_notSupported() throws IOException {
+        save(10);
+        PagedTaskList list = open(16);
+        assertAll(() -> assertThrows(UnsupportedOperationException.class, () -> list.add(Task.createTodo("New"))),
+                () -> assertThrows(UnsupportedOperationException.class, () -> list.set(0, Task.createTodo("New"))),
+                () -> assertThrows(UnsupportedOperationException.class, () -> list.remove(0)),
+                () -> assertEquals(10, list.size()));
+    }
+
+    @Test
+    void test_readFrom_indexOfOtherFile_null() throws IOException {
+        save(10);
+        Files.write(dataPath, new byte[] {1}, StandardOpenOption.APPEND);
+        assertNull(TaskIndex.readFrom(indexPath, dataPath));
+    }
+}
@@ -0,0 +1,48 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.TaskType;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StorageTest {
+
+    /** List of a todo, a completed event and a deadline, saved by the first version of Duke. */
+    private static final String SERIALIZED_LIST = "serialized-taskdata.txt";
+
+    @Test
+    void test_readSerialized_listSavedByFirstVersion() throws Exception {
+        List<?> read;
+        try (InputStream in = StorageTest.class.getResourceAsStream(SERIALIZED_LIST)) {
+            assertNotNull(in);
+            read = (List<?>) Storage.readSerialized(in);
+        }
+        assertEquals(3, read.size());
+
+        Schedulable todo = (Schedulable) read.get(0);
+        assertEquals(TaskType.TODO, todo.getType());
+        assertEquals("read book", todo.showTaskDescription());
+        assertFalse(todo.isCompleted());
+
+        Schedulable event = (Schedulable) read.get(1);
+        assertEquals(TaskType.EVENT, event.getType());
+        assertTrue(event.isCompleted());
+        assertEquals("2020-01-02", event.getRawDateString());
+        assertEquals(LocalDate.of(2020, 1, 2).toEpochDay(), event.getTaskDate().toEpochDay());
+
+        Schedulable deadline = (Schedulable) read.get(2);
+        assertEquals(TaskType.DEADLINE, deadline.getType());
+        assertEquals("homework", deadline.showTaskDescription());
+        assertEquals(LocalDate.of(2021, 3, 2).toEpochDay(), deadline.getTaskDate().toEpochDay());
+        assertTrue(deadline.toString().startsWith("[Deadline]"));
+    }
+}
@@ -0,0 +1,106 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCodecTest {
+
+    private static byte[] write(List<Schedulable> tasks) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        TaskCodec.write(tasks, Channels.newChannel(bos));
+        return bos.toByteArray();
+    }
+
+    private static List<Schedulable> read(byte[] bytes) throws IOException {
+        return TaskCodec.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void test_roundTrip_keepsTasksAsGiven() throws IOException {
+        List<Schedulable> tasks = new ArrayList<>();
+        tasks.add(Task.createTodo("Run"));
+        tasks.add(Task.createEvent("Meeting", "2020-08-05"));
+        tasks.add(Task.createDeadline("Return book", "30/08/2050"));
+        tasks.add(Task.createDeadline("Pay rent", "5/8/2020"));
+        tasks.add(Task.createTodo("Café ☕"));
+        tasks.get(1).completed();
+
+        List<Schedulable> read = read(write(tasks));
+        assertEquals(tasks.size(), read.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), read.get(i).toString());
+        }
+        assertAll(() -> assertTrue(read.get(1).isCompleted()),
+                () -> assertEquals(0, read.get(3).getTaskDate().compareTo(tasks.get(3).getTaskDate())));
+    }
+
+    @Test
+    void test_roundTrip_keepsIds() throws IOException {
+        List<Schedulable> tasks = new ArrayList<>();
+        Task first = Task.createTodo("Run");
+        first.giveId(7);
+        Task second = Task.createEvent("Meeting", "2020-08-05");
+        second.giveId(Long.MAX_VALUE);
+        tasks.add(first);
+        tasks.add(second);
+        tasks.add(Task.createTodo("Without an id"));
+
+        List<Schedulable> read = read(write(tasks));
+        assertAll(() -> assertEquals(7, read.get(0).getId()),
+                () -> assertEquals(Long.MAX_VALUE, read.get(1).getId()),
+                () -> assertEquals("[Event][\u274c] Meeting (at: 2020-08-05)", read.get(1).toString()),
+                () -> assertEquals(0, read.get(2).getId()));
+    }
+
+    @Test
+    void test_read_versionWithoutIds() throws IOException {
+        List<Schedulable> tasks = new ArrayList<>();
+        tasks.add(Task.createTodo("Run"));
+        byte[] bytes = write(tasks);
+        // A task without an id is written as version 1 wrote it.
+        bytes[Integer.BYTES] = 1;
+
+        List<Schedulable> read = read(bytes);
+        assertAll(() -> assertEquals("[ToDo][\u274c] Run", read.get(0).toString()),
+                () -> assertEquals(0, read.get(0).getId()));
+    }
+
+    @Test
+    void test_write_smallerThanSerialization() throws IOException {
+        ArrayList<Schedulable> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(Task.createEvent("Meeting " + i, LocalDate.ofEpochDay(18000 + i).toString()));
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(tasks);
+        }
+        assertTrue(write(tasks).length * 2 < bos.size());
+    }
+
+    @Test
+    void test_read_rejectsCutShortFile() throws IOException {
+        List<Schedulable> tasks = new ArrayList<>();
+        tasks.add(Task.createTodo("Run"));
+        byte[] bytes = write(tasks);
+        byte[] cut = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, cut, 0, cut.length);
+        assertThrows(IOException.class, () -> read(cut));
+    }
+}
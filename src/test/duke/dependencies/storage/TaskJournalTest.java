@@ -0,0 +1,101 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskJournalTest {
+
+    private static TaskJournal writeSampleJournal(Path file) throws IOException {
+        TaskJournal journal = new TaskJournal(file, 0);
+        journal.open();
+        journal.appendAdd(Task.createTodo("Run"));
+        journal.appendAdd(Task.createEvent("Meeting", "2020-08-05"));
+        journal.appendAdd(Task.createDeadline("Return book", "30/08/2050"));
+        journal.appendDone(new int[] {1});
+        journal.appendDelete(new int[] {0});
+        journal.close();
+        return journal;
+    }
+
+    @Test
+    void test_replayInto_appliesRecordsInOrder() throws IOException {
+        Path file = Files.createTempFile("journal", ".log");
+        TaskJournal journal = writeSampleJournal(file);
+        List<Schedulable> tasks = new ArrayList<>();
+        journal.replayInto(tasks);
+        assertAll(() -> assertEquals(2, tasks.size()),
+                () -> assertEquals("[Event][\u2713] Meeting (at: 2020-08-05)", tasks.get(0).toString()),
+                () -> assertEquals("[Deadline][\u274c] Return book (by: 30/08/2050)", tasks.get(1).toString()));
+        Files.delete(file);
+    }
+
+    @Test
+    void test_replayInto_addsImportedTasksTogether() throws IOException {
+        Path file = Files.createTempFile("journal", ".log");
+        TaskJournal journal = new TaskJournal(file, 0);
+        journal.open();
+        journal.appendAdd(Task.createTodo("Run"));
+        journal.appendAddAll(List.of(Task.createTodo("Read"), Task.createEvent("Meeting", "2020-08-05")));
+        journal.close();
+        List<Schedulable> tasks = new ArrayList<>();
+        journal.replayInto(tasks);
+        assertAll(() -> assertEquals(3, tasks.size()),
+                () -> assertEquals("[ToDo][\u274c] Read", tasks.get(1).toString()),
+                () -> assertEquals("[Event][\u274c] Meeting (at: 2020-08-05)", tasks.get(2).toString()));
+
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            fc.truncate(Files.size(file) - 1);
+        }
+        List<Schedulable> torn = new ArrayList<>();
+        journal.replayInto(torn);
+        assertEquals(1, torn.size());
+        Files.delete(file);
+    }
+
+    @Test
+    void test_replayInto_dropsTornRecord() throws IOException {
+        Path file = Files.createTempFile("journal", ".log");
+        TaskJournal journal = writeSampleJournal(file);
+        long size = Files.size(file);
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            fc.truncate(size - 3);
+        }
+        List<Schedulable> tasks = new ArrayList<>();
+        journal.replayInto(tasks);
+        assertAll(() -> assertEquals(3, tasks.size()),
+                () -> assertTrue(tasks.get(1).isCompleted()),
+                () -> assertFalse(tasks.get(0).isCompleted()),
+                () -> assertTrue(Files.size(file) < size - 3));
+        Files.delete(file);
+    }
+
+    @Test
+    void test_replayInto_afterClear() throws IOException {
+        Path file = Files.createTempFile("journal", ".log");
+        TaskJournal journal = writeSampleJournal(file);
+        journal.open();
+        journal.appendClear();
+        journal.appendAdd(Task.createTodo("Swim"));
+        journal.close();
+        List<Schedulable> tasks = new ArrayList<>();
+        journal.replayInto(tasks);
+        assertAll(() -> assertEquals(1, tasks.size()),
+                () -> assertEquals("Swim", tasks.get(0).showTaskDescription()));
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,68 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskLineSpliteratorTest {
+
+    private static List<Schedulable> todos(int count) {
+        List<Schedulable> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.createTodo("Task " + i));
+        }
+        return tasks;
+    }
+
+    @Test
+    void test_stream_linesNumberedFromOne() {
+        List<Schedulable> tasks = todos(3);
+        List<String> lines = StreamSupport.stream(new TaskLineSpliterator(tasks, 1, 3), false)
+                .collect(Collectors.toList());
+        assertEquals(2, lines.size());
+        assertEquals("2. " + tasks.get(1).toString(), lines.get(0));
+        assertEquals("3. " + tasks.get(2).toString(), lines.get(1));
+    }
+
+    @Test
+    void test_forEachRemaining_coversManyChunks() {
+        List<Schedulable> tasks = todos(TaskLineSpliterator.CHUNK_SIZE * 3 + 7);
+        List<String> lines = new ArrayList<>();
+        new TaskLineSpliterator(tasks, 0, tasks.size()).forEachRemaining(lines::add);
+        assertEquals(tasks.size(), lines.size());
+        assertEquals(tasks.size() + ". " + tasks.get(tasks.size() - 1).toString(), lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void test_trySplit_keepsOrder() {
+        List<Schedulable> tasks = todos(TaskLineSpliterator.CHUNK_SIZE * 4);
+        Spliterator<String> rest = new TaskLineSpliterator(tasks, 0, tasks.size());
+        Spliterator<String> prefix = rest.trySplit();
+        List<String> lines = new ArrayList<>();
+        prefix.forEachRemaining(lines::add);
+        rest.forEachRemaining(lines::add);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertTrue(lines.get(i).startsWith((i + 1) + ". "));
+        }
+    }
+
+    @Test
+    void test_listShrinks_endsEarly() {
+        List<Schedulable> tasks = todos(5);
+        Spliterator<String> lines = new TaskLineSpliterator(tasks, 0, 5);
+        tasks.subList(2, 5).clear();
+        List<String> seen = new ArrayList<>();
+        lines.forEachRemaining(seen::add);
+        assertEquals(2, seen.size());
+    }
+}
@@ -0,0 +1,125 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskListTest {
+
+    /**
+     * Saves nothing, and fails to save every change while it is failing.
+     */
+    private static final class FailingPersistence implements TaskPersistence {
+        private boolean isFailing = false;
+
+        private void save() {
+            if (isFailing) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+        }
+
+        @Override
+        public List<Schedulable> load() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void onAdd(List<Schedulable> tasks, Schedulable added) {
+            save();
+        }
+
+        @Override
+        public void onAddAll(List<Schedulable> tasks, List<Schedulable> added) {
+            save();
+        }
+
+        @Override
+        public void onDone(List<Schedulable> tasks, int[] indices) {
+            save();
+        }
+
+        @Override
+        public void onDelete(List<Schedulable> tasks, int[] positions) {
+            save();
+        }
+
+        @Override
+        public void onClear(List<Schedulable> tasks) {
+            save();
+        }
+
+        @Override
+        public void onIdsGiven(List<Schedulable> tasks) {
+            save();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void test_addTask_unsaved_listLeftAsItWas() {
+        FailingPersistence persistence = new FailingPersistence();
+        TaskList list = new TaskList(persistence, "test");
+        list.addTask(Task.createTodo("Saved"));
+
+        persistence.isFailing = true;
+        assertThrows(UncheckedIOException.class, () -> list.addTask(Task.createEvent("Lost", "2020-08-05")));
+        persistence.isFailing = false;
+        list.addTask(Task.createTodo("Saved later"));
+
+        ListedTasks listed = list.listTasks(true);
+        assertAll(() -> assertEquals(2, list.getListSize()),
+                () -> assertEquals(2, list.getStats().getTotal()),
+                () -> assertEquals(IdIndex.format(2), listed.getId(1)),
+                () -> assertEquals(2, listed.getNumber(1)));
+    }
+
+    @Test
+    void test_addAll_unsaved_nothingAdded() {
+        FailingPersistence persistence = new FailingPersistence();
+        TaskList list = new TaskList(persistence, "test");
+
+        persistence.isFailing = true;
+        assertThrows(UncheckedIOException.class,
+                () -> list.addAll(List.of(Task.createTodo("a"), Task.createTodo("b"), Task.createTodo("c"))));
+        persistence.isFailing = false;
+        list.addTask(Task.createTodo("d"));
+
+        assertAll(() -> assertEquals(1, list.getListSize()),
+                () -> assertEquals(1, list.getStats().getTotal()),
+                () -> assertEquals(IdIndex.format(1), list.listTasks(true).getId(0)));
+    }
+
+    @Test
+    void test_changes_unsaved_listLeftAsItWas() {
+        FailingPersistence persistence = new FailingPersistence();
+        TaskList list = new TaskList(persistence, "test");
+        list.addTask(Task.createTodo("a"));
+        list.addTask(Task.createTodo("b"));
+
+        persistence.isFailing = true;
+        assertAll(() -> assertThrows(UncheckedIOException.class, () -> list.complete(TaskSelection.read("1"))),
+                () -> assertThrows(UncheckedIOException.class, () -> list.delete(TaskSelection.read("2"))),
+                () -> assertThrows(UncheckedIOException.class, list::clearList));
+        persistence.isFailing = false;
+
+        assertAll(() -> assertEquals(2, list.getListSize()),
+                () -> assertEquals(0, list.getNumOfCompleted()),
+                () -> assertEquals(2, list.getNumOfIncomplete()),
+                () -> assertFalse(list.listTasks(false).getTask(0).isCompleted()),
+                () -> assertEquals("b", list.listTasks(false).getTask(1).showTaskDescription()));
+    }
+}
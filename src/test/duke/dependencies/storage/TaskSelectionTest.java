@@ -0,0 +1,69 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.dukeexceptions.InvalidIndexException;
+import duke.dependencies.dukeexceptions.UnknownCommandException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskSelectionTest {
+
+    private static int[] positions(String s, int size) throws Exception {
+        return TaskSelection.parse(s).resolve(size, id -> -1, false).stream().toArray();
+    }
+
+    @Test
+    void test_resolve_numbersAndRanges() throws Exception {
+        assertAll(() -> assertArrayEquals(new int[] {0, 2, 3}, positions("1 3 4", 10)),
+                () -> assertArrayEquals(new int[] {1, 2, 3, 7, 8, 9}, positions("2-4, 8-", 10)),
+                () -> assertArrayEquals(new int[] {0, 1, 2}, positions("ALL", 3)),
+                () -> assertArrayEquals(new int[] {4}, positions("5-5", 5)));
+    }
+
+    @Test
+    void test_resolve_manyTasks() throws Exception {
+        BitSet all = TaskSelection.parse("1-5000").resolve(100000, id -> -1, true);
+        assertAll(() -> assertEquals(5000, all.cardinality()),
+                () -> assertEquals(4999, all.length() - 1));
+    }
+
+    @Test
+    void test_parse_malformed_exceptionThrown() {
+        assertAll(() -> assertThrows(UnknownCommandException.class, () -> TaskSelection.parse("one")),
+                () -> assertThrows(UnknownCommandException.class, () -> TaskSelection.parse("5-3")),
+                () -> assertThrows(UnknownCommandException.class, () -> TaskSelection.parse("-3")),
+                () -> assertThrows(UnknownCommandException.class, () -> TaskSelection.parse("0")),
+                () -> assertThrows(UnknownCommandException.class, () -> TaskSelection.parse("2x")),
+                () -> assertThrows(UnknownCommandException.class, () -> TaskSelection.parse("allx")),
+                () -> assertThrows(UnknownCommandException.class, () -> TaskSelection.parse(" , ")));
+    }
+
+    @Test
+    void test_read_malformed_mistakeReturned() {
+        TaskSelection valid = TaskSelection.read("1, 3-4");
+        TaskSelection invalid = TaskSelection.read("1 5-3");
+        assertAll(() -> assertTrue(valid.isValid()),
+                () -> assertNull(valid.getMistake()),
+                () -> assertFalse(invalid.isValid()),
+                () -> assertEquals("Error: Not a range of tasks: 5-3", invalid.getMistake()));
+    }
+
+    @Test
+    void test_resolve_outOfList_exceptionThrown() {
+        assertAll(() -> assertThrows(InvalidIndexException.class, () -> positions("11", 10)),
+                () -> assertThrows(InvalidIndexException.class, () -> positions("5-11", 10)),
+                () -> assertThrows(InvalidIndexException.class, () -> positions("11-", 10)),
+                () -> assertThrows(InvalidIndexException.class, () -> positions("99999999999", 10)),
+                () -> assertThrows(InvalidIndexException.class,
+                        () -> TaskSelection.parse("1-5 3").resolve(10, id -> -1, true)));
+    }
+}
@@ -0,0 +1,29 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.TaskType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskStatsTest {
+
+    @Test
+    void test_totals_sumOverTypes() {
+        TaskStats stats = new TaskStats(new int[] {3, 2, 1, 0}, new int[] {1, 0, 1, 0});
+        assertAll(() -> assertEquals(6, stats.getTotal()),
+                () -> assertEquals(2, stats.getNumOfCompleted()),
+                () -> assertEquals(4, stats.getNumOfIncomplete()),
+                () -> assertEquals(2, stats.getTotal(TaskType.EVENT)));
+    }
+
+    @Test
+    void test_toString_breakdownByType() {
+        TaskStats stats = new TaskStats(new int[] {3, 2, 1, 0}, new int[] {1, 0, 1, 0});
+        assertEquals("ToDo: 3 (1 completed, 2 left)\n"
+                + "Event: 2 (0 completed, 2 left)\n"
+                + "Deadline: 1 (1 completed, 0 left)\n"
+                + "Total: 6 (2 completed, 4 left)", stats.toString());
+    }
+}
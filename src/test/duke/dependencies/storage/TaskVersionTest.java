@@ -0,0 +1,123 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Schedulable;
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TaskVersionTest {
+
+    private static List<Schedulable> tasks(int count) {
+        List<Schedulable> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.createTodo("Task " + i));
+        }
+        return tasks;
+    }
+
+    private static int[] randomPositions(Random random, int size, int count) {
+        TreeSet<Integer> positions = new TreeSet<>();
+        while (positions.size() < Math.min(count, size)) {
+            positions.add(random.nextInt(size));
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void test_changes_sameAsArrayList() {
+        Random random = new Random(14);
+        List<Schedulable> expected = tasks(5000);
+        List<Integer> expectedSeqs = new ArrayList<>();
+        for (int i = 0; i < expected.size(); i++) {
+            expectedSeqs.add(i);
+        }
+        TaskVersion version = TaskVersion.of(new ArrayList<>(expected), TaskStats.empty());
+        int nextSeq = expected.size();
+
+        for (int round = 0; round < 300; round++) {
+            int op = random.nextInt(3);
+            if ((op == 0 || expected.isEmpty()) && random.nextBoolean()) {
+                Schedulable added = Task.createTodo("Added " + round);
+                version = version.withAdded(added, nextSeq, TaskStats.empty());
+                expected.add(added);
+                expectedSeqs.add(nextSeq++);
+            } else if (op == 0 || expected.isEmpty()) {
+                Schedulable[] added = new Schedulable[1 + random.nextInt(2500)];
+                for (int i = 0; i < added.length; i++) {
+                    added[i] = Task.createTodo("Added " + round + " " + i);
+                }
+                version = version.withAllAdded(added, nextSeq, TaskStats.empty());
+                for (Schedulable task : added) {
+                    expected.add(task);
+                    expectedSeqs.add(nextSeq++);
+                }
+            } else if (op == 1) {
+                int[] positions = randomPositions(random, expected.size(), 1 + random.nextInt(50));
+                Schedulable[] replacements = new Schedulable[positions.length];
+                for (int i = 0; i < positions.length; i++) {
+                    replacements[i] = Task.createTodo("Replaced " + round + " " + i);
+                    expected.set(positions[i], replacements[i]);
+                }
+                version = version.withReplaced(positions, replacements, TaskStats.empty());
+            } else {
+                int[] positions = randomPositions(random, expected.size(), 1 + random.nextInt(50));
+                version = version.withRemoved(positions, TaskStats.empty());
+                for (int i = positions.length - 1; i >= 0; i--) {
+                    expected.remove(positions[i]);
+                    expectedSeqs.remove(positions[i]);
+                }
+            }
+        }
+
+        assertEquals(expected.size(), version.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), version.get(i));
+            assertEquals((int) expectedSeqs.get(i), version.seqAt(i));
+            assertEquals(i, version.positionOf(expectedSeqs.get(i)));
+        }
+    }
+
+    @Test
+    void test_olderVersion_unchanged() {
+        List<Schedulable> loaded = tasks(3000);
+        TaskVersion first = TaskVersion.of(loaded, TaskStats.empty());
+        TaskVersion second = first.withRemoved(new int[] {0, 1500}, TaskStats.empty())
+                .withReplaced(new int[] {10}, new Schedulable[] {Task.createTodo("New")}, TaskStats.empty())
+                .withAdded(Task.createTodo("Last"), 3000, TaskStats.empty());
+
+        assertAll(() -> assertEquals(3000, first.size()),
+                () -> assertSame(loaded.get(0), first.get(0)),
+                () -> assertSame(loaded.get(11), first.get(11)),
+                () -> assertEquals(2999, second.size()),
+                () -> assertEquals("New", second.get(10).showTaskDescription()),
+                () -> assertEquals(-1, second.positionOf(1500)),
+                () -> assertEquals(1500, first.positionOf(1500)),
+                () -> assertEquals(2998, second.positionOf(3000)));
+    }
+
+    @Test
+    void test_withRemoved_everyOther_mergedIntoChunks() {
+        List<Schedulable> loaded = tasks(10000);
+        int[] positions = new int[5000];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = 2 * i;
+        }
+        TaskVersion version = TaskVersion.of(loaded, TaskStats.empty()).withRemoved(positions, TaskStats.empty());
+
+        assertEquals(5000, version.size());
+        for (int i = 0; i < version.size(); i++) {
+            assertSame(loaded.get(2 * i + 1), version.get(i));
+            assertEquals(2 * i + 1, version.seqAt(i));
+            assertEquals(i, version.positionOf(2 * i + 1));
+        }
+    }
+}
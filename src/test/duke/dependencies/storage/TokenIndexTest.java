@@ -0,0 +1,83 @@
+package duke.dependencies.storage;
+
+import duke.dependencies.task.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenIndexTest {
+
+    @Test
+    void test_tokenize_splitsAndLowerCases() {
+        assertEquals(Arrays.asList("return", "book", "2020", "08", "05"),
+                TokenIndex.tokenize("Return  BOOK (2020-08-05)!"));
+        assertEquals(0, TokenIndex.tokenize(" -- ").size());
+    }
+
+    @Test
+    void test_find_intersectsWords() {
+        TokenIndex index = new TokenIndex();
+        index.add(0, Task.createTodo("read book"));
+        index.add(1, Task.createTodo("return book book"));
+        index.add(2, Task.createEvent("book club", "2020-08-05"));
+        index.add(3, Task.createTodo("read news"));
+
+        List<String> book = TokenIndex.tokenize("book");
+        assertArrayEquals(new int[] {0, 1, 2}, index.find(book));
+        assertArrayEquals(new int[] {0}, index.find(TokenIndex.tokenize("Read Book")));
+        assertArrayEquals(new int[] {2}, index.find(TokenIndex.tokenize("book 2020-08-05")));
+        assertArrayEquals(new int[0], index.find(TokenIndex.tokenize("read club")));
+        assertArrayEquals(new int[0], index.find(TokenIndex.tokenize("missing")));
+    }
+
+    @Test
+    void test_find_matchesPartsOfWords() {
+        TokenIndex index = new TokenIndex();
+        index.add(0, Task.createTodo("team meeting"));
+        index.add(1, Task.createTodo("greet guests"));
+        index.add(2, Task.createTodo("sleep"));
+        index.add(3, Task.createTodo("Meet Sam"));
+
+        assertArrayEquals(new int[] {0, 1, 3}, index.find(TokenIndex.tokenize("eet")));
+        assertArrayEquals(new int[] {0, 3}, index.find(TokenIndex.tokenize("MEET")));
+        assertArrayEquals(new int[] {0, 3}, index.find(TokenIndex.tokenize("ee am")));
+        assertArrayEquals(new int[0], index.find(TokenIndex.tokenize("meetings")));
+    }
+
+    @Test
+    void test_remove_dropsTaskFromEveryWord() {
+        TokenIndex index = new TokenIndex();
+        Task returnBook = Task.createTodo("return book book");
+        index.add(0, Task.createTodo("read book"));
+        index.add(1, returnBook);
+        index.remove(1, returnBook);
+        index.add(2, Task.createTodo("return it"));
+
+        assertArrayEquals(new int[] {0}, index.find(TokenIndex.tokenize("book")));
+        assertArrayEquals(new int[] {2}, index.find(TokenIndex.tokenize("return")));
+        assertArrayEquals(new int[] {0}, index.find(TokenIndex.tokenize("boo")));
+    }
+
+    @Test
+    void test_removeAll_dropsTasksSharingWords() {
+        TokenIndex index = new TokenIndex();
+        Task[] tasks = {
+            Task.createTodo("read book"), Task.createTodo("return book"), Task.createTodo("buy book"),
+            Task.createTodo("return bag"), Task.createTodo("read news")
+        };
+        for (int i = 0; i < tasks.length; i++) {
+            index.add(i, tasks[i]);
+        }
+        index.removeAll(new int[] {1, 2, 3}, new Task[] {tasks[1], tasks[2], tasks[3]});
+
+        assertArrayEquals(new int[] {0}, index.find(TokenIndex.tokenize("book")));
+        assertArrayEquals(new int[] {0, 4}, index.find(TokenIndex.tokenize("read")));
+        assertArrayEquals(new int[0], index.find(TokenIndex.tokenize("return")));
+        assertArrayEquals(new int[0], index.find(TokenIndex.tokenize("bag")));
+    }
+}
@@ -2,8 +2,13 @@ package duke.dependencies.task;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.format.DateTimeParseException;
+
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TaskDateTest {
@@ -36,4 +41,33 @@ class TaskDateTest {
         assertAll(() -> assertEquals("May 08 2019", d1.toString()),
                 () -> assertEquals("Aug 20 2020", d2.toString()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_appendTo_sameAsToString() {
+        StringBuilder sb = new StringBuilder("by ");
+        new TaskDate("20/08/2020").appendTo(sb);
+        assertEquals("by Aug 20 2020", sb.toString());
+    }
+
+    @Test
+    void test_tryParse_sameAsDateTimeFormatter() {
+        assertAll(() -> assertEquals("Feb 29 2020", TaskDate.tryParse("31/2/2020").toString()),
+                () -> assertEquals("Jan 01 2020", TaskDate.tryParse("001/1/2020").toString()),
+                () -> assertEquals("Jan 01 0020", TaskDate.tryParse("1/1/20").toString()),
+                () -> assertNull(TaskDate.tryParse("2020-02-30")),
+                () -> assertNull(TaskDate.tryParse("32/01/2020")),
+                () -> assertNull(TaskDate.tryParse("1/13/2020")),
+                () -> assertNull(TaskDate.tryParse("1/1/0000")),
+                () -> assertNull(TaskDate.tryParse("someday")),
+                () -> assertThrows(DateTimeParseException.class, () -> new TaskDate("2020-1-01")));
+    }
+
+    @Test
+    void test_tryParse_tooFarOff_null() {
+        assertAll(() -> assertEquals("Dec 31 9999", TaskDate.tryParse("9999-12-31").toString()),
+                () -> assertNotNull(TaskDate.tryParse("1/1/5000000")),
+                () -> assertNull(TaskDate.tryParse("1/1/9999999")),
+                () -> assertNull(TaskDate.tryParse("+9999999-01-01")),
+                () -> assertThrows(DateTimeParseException.class, () -> new TaskDate("1/1/9999999")));
+    }
+}
@@ -64,4 +64,23 @@ class TaskTest {
                 () -> assertFalse(t.isItEmpty()),
                 () -> assertEquals("Aug 30 2050", t.getDateString()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_toString_changesWhenCompleted() {
+        Task t = Task.createDeadline("Return book", "30/08/2050");
+        assertEquals("[Deadline][\u274c] Return book (by: 30/08/2050)", t.toString());
+        t.completed();
+        assertEquals("[Deadline][\u2713] Return book (by: 30/08/2050)", t.toString());
+    }
+
+    @Test
+    void test_appendTo_sameAsToString() {
+        Task todo = Task.createTodo("Run");
+        Task event = Task.createEvent("Meeting", "2020-08-05");
+        StringBuilder sb = new StringBuilder("1. ");
+        todo.appendTo(sb);
+        event.toString();
+        event.appendTo(sb.append(" 2. "));
+        assertEquals("1. [ToDo][\u274c] Run 2. [Event][\u274c] Meeting (at: 2020-08-05)", sb.toString());
+    }
+}